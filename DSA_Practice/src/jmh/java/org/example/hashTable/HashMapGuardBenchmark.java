@@ -0,0 +1,78 @@
+package org.example.hashTable;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.example.hashTable.HashMapImplementation.MyHashMap;
+import org.example.multiThreading.lock.GuardBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link GuardBenchmark} for {@link ConcurrentMyHashMap}, kept in this package because {@link MyHashMap} is
+ * package-private: {@code readPercent} of the operations are gets, the rest are puts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashMapGuardBenchmark {
+  // MyHashMap compares keys with == and never resizes, so the keys stay within the Integer cache and the
+  // map stays at 128 entries instead of filling up with duplicates
+  private static final int KEYS = 128;
+
+  @Param({"stamped", "readWrite", "synchronized"})
+  String guard;
+
+  @Param({"100", "99", "90"})
+  int readPercent;
+
+  private ConcurrentMyHashMap<Integer, Integer> map;
+
+  @Setup
+  public void setUp() {
+    map = new ConcurrentMyHashMap<>(GuardBenchmark.guard(guard, new MyHashMap<>()));
+    for (int key = 0; key < KEYS; key++) {
+      map.put(key, key);
+    }
+  }
+
+  @Benchmark
+  public Integer map() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int key = random.nextInt(KEYS);
+    if (random.nextInt(100) < readPercent) {
+      return map.get(key);
+    }
+    map.put(key, key);
+    return key;
+  }
+
+  /**
+   * Runs the benchmark for every thread count from 1 to 64.
+   *
+   * @param args command line arguments (not used)
+   * @throws RunnerException if JMH fails to run the benchmarks
+   */
+  public static void main(String[] args) throws RunnerException {
+    for (int threads : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+      new Runner(new OptionsBuilder()
+          .include(HashMapGuardBenchmark.class.getSimpleName())
+          .threads(threads)
+          .build()).run();
+    }
+  }
+}
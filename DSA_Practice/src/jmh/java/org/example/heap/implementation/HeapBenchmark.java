@@ -0,0 +1,106 @@
+package org.example.heap.implementation;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.example.heap.implementation.ArrayImplementation.IntHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link IntHeap} (binary and 4-ary) with {@code PriorityQueue<Integer>} by building a heap of
+ * {@code size} random keys and draining it. Each invocation handles the whole heap, so this runs in
+ * single-shot mode. The 1e8 case needs a large heap for the boxed queue, hence {@code -Xmx12g}.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar HeapBenchmark -prof gc}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms12g", "-Xmx12g"})
+public class HeapBenchmark {
+
+  @Param({"1000000", "10000000", "100000000"})
+  int size;
+
+  @Param({"binary", "4-ary", "PriorityQueue"})
+  String variant;
+
+  private int[] keys;
+  private Integer[] boxedKeys;
+  private int[] drainBuffer;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    keys = new Random(42).ints(size).toArray();
+    drainBuffer = new int[4096];
+    if (variant.equals("PriorityQueue")) {
+      boxedKeys = Arrays.stream(keys).boxed().toArray(Integer[]::new);
+    }
+  }
+
+  /**
+   * Builds the heap in O(n) from all keys at once, then drains it.
+   */
+  @Benchmark
+  public long heapifyAndDrain() {
+    if (boxedKeys != null) {
+      return drain(new PriorityQueue<>(Arrays.asList(boxedKeys)));
+    }
+    return drain(IntHeap.heapify(keys, arity()));
+  }
+
+  /**
+   * Adds the keys one at a time, then drains the heap.
+   */
+  @Benchmark
+  public long addAndDrain() {
+    if (boxedKeys != null) {
+      PriorityQueue<Integer> queue = new PriorityQueue<>(size);
+      for (Integer key : boxedKeys) {
+        queue.add(key);
+      }
+      return drain(queue);
+    }
+    IntHeap heap = new IntHeap(arity(), size);
+    for (int key : keys) {
+      heap.add(key);
+    }
+    return drain(heap);
+  }
+
+  private int arity() {
+    return variant.equals("4-ary") ? 4 : 2;
+  }
+
+  private long drain(IntHeap heap) {
+    long checksum = 0;
+    int n;
+    while ((n = heap.pollN(drainBuffer, 0, drainBuffer.length)) > 0) {
+      checksum += drainBuffer[n - 1];
+    }
+    return checksum;
+  }
+
+  private static long drain(PriorityQueue<Integer> queue) {
+    long checksum = 0;
+    Integer key;
+    while ((key = queue.poll()) != null) {
+      checksum += key;
+    }
+    return checksum;
+  }
+}
@@ -0,0 +1,267 @@
+package org.example.linkedlist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH replacement for {@link org.example.linkedlist.Question.LinkedListVsArrayList}.
+ * Compares our {@link LinkedList} and {@link DoublyLinkedList} with {@link java.util.LinkedList}
+ * and {@link ArrayList} on a warmed-up JVM.
+ *
+ * <p>Every mutating benchmark pairs the measured operation with a cheap inverse
+ * (for example removeFirst followed by append) so the list keeps its size across invocations.
+ * Inserts are undone with {@link ListOps#removeCheap()}, which removes from whichever end is O(1) for
+ * that structure, so an ArrayList append is not charged for an O(n) {@code remove(0)}.
+ *
+ * <p>Run with {@code mvn -P jmh package && java -jar target/benchmarks.jar ListBenchmark -prof gc},
+ * or run {@link #main(String[])} which adds the GC profiler and writes {@code list-benchmark.json}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ListBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000", "10000000"})
+  int size;
+
+  @Param({"LinkedList", "DoublyLinkedList", "java.util.LinkedList", "ArrayList"})
+  String listType;
+
+  private ListOps list;
+
+  /**
+   * Builds a list of {@code size} elements once per trial.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    switch (listType) {
+      case "LinkedList":
+        list = new OurLinkedList();
+        break;
+      case "DoublyLinkedList":
+        list = new OurDoublyLinkedList();
+        break;
+      case "java.util.LinkedList":
+        list = new JdkList(new java.util.LinkedList<>());
+        break;
+      case "ArrayList":
+        list = new JdkList(new ArrayList<>(size + 1));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown list type " + listType);
+    }
+    for (int i = 0; i < size; i++) {
+      list.append(i);
+    }
+  }
+
+  @Benchmark
+  public void append() {
+    list.append(size);
+    list.removeCheap();
+  }
+
+  @Benchmark
+  public void prepend() {
+    list.prepend(size);
+    list.removeCheap();
+  }
+
+  @Benchmark
+  public int getMiddle() {
+    return list.get(size / 2);
+  }
+
+  @Benchmark
+  public int removeFirst() {
+    int x = list.removeFirst();
+    list.append(x);
+    return x;
+  }
+
+  @Benchmark
+  public int removeLast() {
+    int x = list.removeLast();
+    list.append(x);
+    return x;
+  }
+
+  @Benchmark
+  public void iterate(Blackhole blackhole) {
+    list.iterate(blackhole);
+  }
+
+  /**
+   * Runs every list benchmark with the GC profiler, which reports allocation rate per operation.
+   *
+   * @param args command line arguments (not used)
+   * @throws RunnerException if JMH fails to run the benchmarks
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+        .include(ListBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .resultFormat(ResultFormatType.JSON)
+        .result("list-benchmark.json")
+        .build();
+    new Runner(options).run();
+  }
+
+  /**
+   * The operations every benchmarked list has to provide, each with its cheapest native call.
+   */
+  interface ListOps {
+    void append(int value);
+
+    void prepend(int value);
+
+    int get(int index);
+
+    int removeFirst();
+
+    int removeLast();
+
+    /**
+     * Removes one element from the end this structure removes from in O(1), to undo an insert.
+     *
+     * @return the removed value
+     */
+    int removeCheap();
+
+    void iterate(Blackhole blackhole);
+  }
+
+  static class OurLinkedList implements ListOps {
+    private final LinkedList list = new LinkedList(0);
+
+    OurLinkedList() {
+      list.removeFirst();
+    }
+
+    public void append(int value) {
+      list.append(value);
+    }
+
+    public void prepend(int value) {
+      list.prepend(value);
+    }
+
+    public int get(int index) {
+      return list.get(index).value;
+    }
+
+    public int removeFirst() {
+      return list.removeFirst().value;
+    }
+
+    public int removeLast() {
+      return list.removeLast().value;
+    }
+
+    public int removeCheap() {
+      return removeFirst();   // removeLast walks the whole singly linked list
+    }
+
+    public void iterate(Blackhole blackhole) {
+      for (Integer value : list) {
+        blackhole.consume(value);
+      }
+    }
+  }
+
+  static class OurDoublyLinkedList implements ListOps {
+    private final DoublyLinkedList list = new DoublyLinkedList();
+
+    public void append(int value) {
+      list.insertAtTail(value);
+    }
+
+    public void prepend(int value) {
+      list.insertAtHead(value);
+    }
+
+    public int get(int index) {
+      return list.getAt(index + 1);
+    }
+
+    public int removeFirst() {
+      return list.removeFirst();
+    }
+
+    public int removeLast() {
+      return list.removeLast();
+    }
+
+    public int removeCheap() {
+      return removeLast();
+    }
+
+    public void iterate(Blackhole blackhole) {
+      var iterator = list.iterator();
+      while (iterator.hasNext()) {
+        blackhole.consume(iterator.nextInt());
+      }
+    }
+  }
+
+  static class JdkList implements ListOps {
+    private final List<Integer> list;
+
+    JdkList(List<Integer> list) {
+      this.list = list;
+    }
+
+    public void append(int value) {
+      list.add(value);
+    }
+
+    public void prepend(int value) {
+      list.add(0, value);
+    }
+
+    public int get(int index) {
+      return list.get(index);
+    }
+
+    public int removeFirst() {
+      return list.remove(0);
+    }
+
+    public int removeLast() {
+      return list.remove(list.size() - 1);
+    }
+
+    public int removeCheap() {
+      return removeLast();   // remove(0) shifts every element of an ArrayList
+    }
+
+    public void iterate(Blackhole blackhole) {
+      for (Integer value : list) {
+        blackhole.consume(value);
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package org.example.multiThreading.lock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.example.binarySearchTree.BinarySearchTree;
+import org.example.binarySearchTree.ConcurrentBinarySearchTree;
+import org.example.linkedlist.ConcurrentDoublyLinkedList;
+import org.example.linkedlist.ConcurrentLinkedList;
+import org.example.linkedlist.DoublyLinkedList;
+import org.example.linkedlist.LinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures read-mostly access to a shared {@link BinarySearchTree}, {@link DoublyLinkedList} and
+ * {@link LinkedList} through each {@link Guard}: {@code readPercent} of the operations are lookups, the rest
+ * are writes. The package-private {@code MyHashMap} is measured the same way by
+ * {@code org.example.hashTable.HashMapGuardBenchmark}.
+ *
+ * <p>{@link #main(String[])} repeats the run for 1 to 64 threads to show how reads scale with optimistic
+ * reads, with a read-write lock and with a plain monitor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuardBenchmark {
+  private static final int KEYS = 1 << 16;
+  private static final int LIST_SIZE = 256;
+
+  @Param({"stamped", "readWrite", "synchronized"})
+  String guard;
+
+  @Param({"100", "99", "90"})
+  int readPercent;
+
+  private ConcurrentBinarySearchTree tree;
+  private ConcurrentDoublyLinkedList list;
+  private ConcurrentLinkedList linkedList;
+
+  @Setup
+  public void setUp() {
+    tree = new ConcurrentBinarySearchTree(guard(guard, new BinarySearchTree()));
+    list = new ConcurrentDoublyLinkedList(guard(guard, new DoublyLinkedList()));
+    LinkedList singly = new LinkedList(0);
+    singly.removeFirst();
+    linkedList = new ConcurrentLinkedList(guard(guard, singly));
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < KEYS / 2; i++) {
+      tree.insert(random.nextInt(KEYS));
+    }
+    for (int i = 0; i < LIST_SIZE; i++) {
+      list.insertAtTail(i);
+      linkedList.append(i);
+    }
+  }
+
+  /**
+   * Creates the guard named by the {@code guard} parameter, for benchmarks of other structures too.
+   *
+   * @param guard  {@code stamped}, {@code readWrite} or {@code synchronized}
+   * @param target the structure to guard
+   * @param <T>    the type of the structure
+   * @return the guard
+   */
+  public static <T> Guard<T> guard(String guard, T target) {
+    switch (guard) {
+      case "stamped":
+        return Guard.stamped(target);
+      case "readWrite":
+        return Guard.readWrite(target);
+      case "synchronized":
+        return Guard.synchronizedOn(target);
+      default:
+        throw new IllegalArgumentException("Unknown guard " + guard);
+    }
+  }
+
+  @Benchmark
+  public boolean tree() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int key = random.nextInt(KEYS);
+    if (random.nextInt(100) < readPercent) {
+      return tree.contains(key);
+    }
+    return tree.insert(key);
+  }
+
+  @Benchmark
+  public int list() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (random.nextInt(100) < readPercent) {
+      return list.getAt(1 + random.nextInt(LIST_SIZE / 2));
+    }
+    // Rotate the list so its size stays the same
+    int value = list.removeFirst();
+    list.insertAtTail(value);
+    return value;
+  }
+
+  @Benchmark
+  public Integer linkedList() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (random.nextInt(100) < readPercent) {
+      return linkedList.get(random.nextInt(LIST_SIZE / 2));
+    }
+    Integer value = linkedList.removeFirst();
+    linkedList.append(value);
+    return value;
+  }
+
+  /**
+   * Runs the benchmark for every thread count from 1 to 64.
+   *
+   * @param args command line arguments (not used)
+   * @throws RunnerException if JMH fails to run the benchmarks
+   */
+  public static void main(String[] args) throws RunnerException {
+    for (int threads : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+      new Runner(new OptionsBuilder()
+          .include(GuardBenchmark.class.getSimpleName())
+          .threads(threads)
+          .build()).run();
+    }
+  }
+}
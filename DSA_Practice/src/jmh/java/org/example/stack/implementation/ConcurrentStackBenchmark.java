@@ -0,0 +1,95 @@
+package org.example.stack.implementation;
+
+import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import org.example.stack.implementation.LinkedListImplementation.ConcurrentLLStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures a shared stack used as a work pool: every operation pushes a value and pops one back.
+ * Compares {@link ConcurrentLLStack} with and without elimination against {@link java.util.Stack}
+ * and {@link ConcurrentLinkedDeque}.
+ *
+ * <p>{@link #main(String[])} repeats the run for 1 to 64 threads to show how each variant scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentStackBenchmark {
+
+  @Param({"treiber", "elimination", "java.util.Stack", "ConcurrentLinkedDeque"})
+  String variant;
+
+  private ConcurrentLLStack concurrentStack;
+  private Stack<Integer> synchronizedStack;
+  private ConcurrentLinkedDeque<Integer> deque;
+
+  @Setup
+  public void setUp() {
+    switch (variant) {
+      case "treiber":
+        concurrentStack = new ConcurrentLLStack(0);
+        break;
+      case "elimination":
+        concurrentStack = new ConcurrentLLStack();
+        break;
+      case "java.util.Stack":
+        synchronizedStack = new Stack<>();
+        break;
+      case "ConcurrentLinkedDeque":
+        deque = new ConcurrentLinkedDeque<>();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown variant " + variant);
+    }
+  }
+
+  @Benchmark
+  public int pushPop() {
+    if (concurrentStack != null) {
+      concurrentStack.push(1);
+      return concurrentStack.popOrDefault(-1);
+    }
+    if (synchronizedStack != null) {
+      synchronizedStack.push(1);
+      synchronized (synchronizedStack) {
+        return synchronizedStack.isEmpty() ? -1 : synchronizedStack.pop();
+      }
+    }
+    deque.push(1);
+    Integer value = deque.poll();
+    return (value == null) ? -1 : value;
+  }
+
+  /**
+   * Runs the benchmark for every thread count from 1 to 64.
+   *
+   * @param args command line arguments (not used)
+   * @throws RunnerException if JMH fails to run the benchmarks
+   */
+  public static void main(String[] args) throws RunnerException {
+    for (int threads : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+      new Runner(new OptionsBuilder()
+          .include(ConcurrentStackBenchmark.class.getSimpleName())
+          .threads(threads)
+          .build()).run();
+    }
+  }
+}
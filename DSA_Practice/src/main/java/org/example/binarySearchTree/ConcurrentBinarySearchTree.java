@@ -0,0 +1,35 @@
+package org.example.binarySearchTree;
+
+import org.example.multiThreading.lock.Guard;
+
+/**
+ * Thread-safe {@link BinarySearchTree}. Lookups run as optimistic reads: an insert only links a new leaf, so
+ * a lookup that overlaps one still ends at a leaf and is simply retried if it did.
+ */
+public class ConcurrentBinarySearchTree {
+  private final Guard<BinarySearchTree> guard;
+
+  /**
+   * Creates an empty tree with optimistic reads.
+   */
+  public ConcurrentBinarySearchTree() {
+    this(Guard.stamped(new BinarySearchTree()));
+  }
+
+  /**
+   * Wraps a guarded tree, for example to compare against {@link Guard#synchronizedOn(Object)}.
+   *
+   * @param guard the guard around the tree; the tree must not be used without it
+   */
+  public ConcurrentBinarySearchTree(Guard<BinarySearchTree> guard) {
+    this.guard = guard;
+  }
+
+  public boolean insert(int value) {
+    return guard.write(tree -> tree.insert(value));
+  }
+
+  public boolean contains(int value) {
+    return guard.optimisticRead(tree -> tree.contains(value));
+  }
+}
@@ -0,0 +1,43 @@
+package org.example.hashTable;
+
+import org.example.hashTable.HashMapImplementation.MyHashMap;
+import org.example.multiThreading.lock.Guard;
+
+/**
+ * Thread-safe {@link MyHashMap}. Gets run as optimistic reads: they only scan one bucket, and a scan that
+ * overlaps a put, or fails because of one, is retried under the read lock.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+class ConcurrentMyHashMap<K, V> {
+  private final Guard<MyHashMap<K, V>> guard;
+
+  /**
+   * Creates an empty map with optimistic reads.
+   */
+  ConcurrentMyHashMap() {
+    this(Guard.stamped(new MyHashMap<>()));
+  }
+
+  /**
+   * Wraps a guarded map, for example to compare against {@link Guard#synchronizedOn(Object)}.
+   *
+   * @param guard the guard around the map; the map must not be used without it
+   */
+  ConcurrentMyHashMap(Guard<MyHashMap<K, V>> guard) {
+    this.guard = guard;
+  }
+
+  public int size() {
+    return guard.optimisticRead(MyHashMap::size);
+  }
+
+  public void put(K key, V value) {
+    guard.update(map -> map.put(key, value));
+  }
+
+  public V get(K key) {
+    return guard.optimisticRead(map -> map.get(key));
+  }
+}
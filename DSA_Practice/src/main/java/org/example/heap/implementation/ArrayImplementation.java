@@ -0,0 +1,595 @@
+package org.example.heap.implementation;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of min-heaps (priority queues) using an array.
+ *
+ * <p>The heaps store primitive keys, so unlike {@code PriorityQueue<Integer>} nothing is boxed.
+ * Every heap is d-ary: arity 2 is the classic binary heap, while a larger arity makes the tree
+ * shallower, so adds and key decreases are cheaper and polls compare more children per level.
+ * For a max-heap, store negated keys.
+ */
+public class ArrayImplementation {
+
+  /**
+   * Largest array size that is safe to request from the JVM.
+   */
+  static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  static int checkArity(int arity) {
+    if (arity < 2) {
+      throw new IllegalArgumentException("Arity must be at least 2.");
+    }
+    return arity;
+  }
+
+  static int grownCapacity(int capacity) {
+    if (capacity == MAX_CAPACITY) {
+      throw new OutOfMemoryError("Heap size exceeds " + MAX_CAPACITY);
+    }
+    return (int) Math.min(MAX_CAPACITY, Math.max(capacity * 2L, 16));
+  }
+
+  /**
+   * Min-heap of {@code int} keys.
+   */
+  public static class IntHeap {
+    private final int arity;
+    private int[] arr;
+    private int size = 0;
+
+    /**
+     * Creates an empty binary heap.
+     */
+    public IntHeap() {
+      this(2, 16);
+    }
+
+    /**
+     * Creates an empty heap.
+     *
+     * @param arity           the number of children per node, at least 2
+     * @param initialCapacity the number of keys it can hold before it grows
+     */
+    public IntHeap(int arity, int initialCapacity) {
+      this.arity = checkArity(arity);
+      this.arr = new int[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Builds a heap from the given keys in O(n) by sifting down every parent, starting from the last one.
+     * The array is copied, so the caller keeps ownership of it.
+     *
+     * @param keys  the keys of the heap
+     * @param arity the number of children per node, at least 2
+     * @return a heap holding all the keys
+     */
+    public static IntHeap heapify(int[] keys, int arity) {
+      IntHeap heap = new IntHeap(arity, keys.length);
+      System.arraycopy(keys, 0, heap.arr, 0, keys.length);
+      heap.size = keys.length;
+      for (int i = (keys.length - 2) / arity; i >= 0; i--) {
+        heap.siftDown(i, heap.arr[i]);
+      }
+      return heap;
+    }
+
+    /**
+     * Adds a key. Time complexity O(log n).
+     *
+     * @param key the key to add
+     */
+    public void add(int key) {
+      if (size == arr.length) {
+        arr = Arrays.copyOf(arr, grownCapacity(arr.length));
+      }
+      siftUp(size++, key);
+    }
+
+    /**
+     * Returns the smallest key without removing it.
+     *
+     * @return the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int peek() {
+      if (size == 0) {
+        throw new NoSuchElementException("Heap is empty");
+      }
+      return arr[0];
+    }
+
+    /**
+     * Removes and returns the smallest key. Time complexity O(log n).
+     *
+     * @return the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int poll() {
+      if (size == 0) {
+        throw new NoSuchElementException("Heap is empty");
+      }
+      int min = arr[0];
+      int last = arr[--size];
+      if (size > 0) {
+        siftDown(0, last);
+      }
+      return min;
+    }
+
+    /**
+     * Removes up to {@code n} of the smallest keys into {@code dest} in ascending order.
+     *
+     * @param dest   the array receiving the keys
+     * @param offset the index in {@code dest} of the smallest key
+     * @param n      the maximum number of keys to remove
+     * @return the number of keys removed, less than {@code n} if the heap ran out
+     */
+    public int pollN(int[] dest, int offset, int n) {
+      int count = Math.min(n, size);
+      for (int i = 0; i < count; i++) {
+        dest[offset + i] = arr[0];
+        int last = arr[--size];
+        if (size > 0) {
+          siftDown(0, last);
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Returns the number of keys in the heap.
+     *
+     * @return the size of the heap
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return {@code true} if the heap is empty
+     */
+    public boolean isEmpty() {
+      return size == 0;
+    }
+
+    /**
+     * Removes every key, keeping the current capacity.
+     */
+    public void clear() {
+      size = 0;
+    }
+
+    /**
+     * Moves the hole at {@code i} up until {@code key} fits, then stores the key there.
+     */
+    private void siftUp(int i, int key) {
+      while (i > 0) {
+        int parent = (i - 1) / arity;
+        if (arr[parent] <= key) {
+          break;
+        }
+        arr[i] = arr[parent];
+        i = parent;
+      }
+      arr[i] = key;
+    }
+
+    /**
+     * Moves the hole at {@code i} down until {@code key} fits, then stores the key there.
+     */
+    private void siftDown(int i, int key) {
+      while (true) {
+        int firstChild = i * arity + 1;
+        if (firstChild >= size) {
+          break;
+        }
+        int end = Math.min(firstChild + arity, size);
+        int smallest = firstChild;
+        for (int child = firstChild + 1; child < end; child++) {
+          if (arr[child] < arr[smallest]) {
+            smallest = child;
+          }
+        }
+        if (key <= arr[smallest]) {
+          break;
+        }
+        arr[i] = arr[smallest];
+        i = smallest;
+      }
+      arr[i] = key;
+    }
+  }
+
+  /**
+   * Min-heap of {@code long} keys.
+   */
+  public static class LongHeap {
+    private final int arity;
+    private long[] arr;
+    private int size = 0;
+
+    /**
+     * Creates an empty binary heap.
+     */
+    public LongHeap() {
+      this(2, 16);
+    }
+
+    /**
+     * Creates an empty heap.
+     *
+     * @param arity           the number of children per node, at least 2
+     * @param initialCapacity the number of keys it can hold before it grows
+     */
+    public LongHeap(int arity, int initialCapacity) {
+      this.arity = checkArity(arity);
+      this.arr = new long[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Builds a heap from the given keys in O(n) by sifting down every parent, starting from the last one.
+     * The array is copied, so the caller keeps ownership of it.
+     *
+     * @param keys  the keys of the heap
+     * @param arity the number of children per node, at least 2
+     * @return a heap holding all the keys
+     */
+    public static LongHeap heapify(long[] keys, int arity) {
+      LongHeap heap = new LongHeap(arity, keys.length);
+      System.arraycopy(keys, 0, heap.arr, 0, keys.length);
+      heap.size = keys.length;
+      for (int i = (keys.length - 2) / arity; i >= 0; i--) {
+        heap.siftDown(i, heap.arr[i]);
+      }
+      return heap;
+    }
+
+    /**
+     * Adds a key. Time complexity O(log n).
+     *
+     * @param key the key to add
+     */
+    public void add(long key) {
+      if (size == arr.length) {
+        arr = Arrays.copyOf(arr, grownCapacity(arr.length));
+      }
+      siftUp(size++, key);
+    }
+
+    /**
+     * Returns the smallest key without removing it.
+     *
+     * @return the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public long peek() {
+      if (size == 0) {
+        throw new NoSuchElementException("Heap is empty");
+      }
+      return arr[0];
+    }
+
+    /**
+     * Removes and returns the smallest key. Time complexity O(log n).
+     *
+     * @return the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public long poll() {
+      if (size == 0) {
+        throw new NoSuchElementException("Heap is empty");
+      }
+      long min = arr[0];
+      long last = arr[--size];
+      if (size > 0) {
+        siftDown(0, last);
+      }
+      return min;
+    }
+
+    /**
+     * Removes up to {@code n} of the smallest keys into {@code dest} in ascending order.
+     *
+     * @param dest   the array receiving the keys
+     * @param offset the index in {@code dest} of the smallest key
+     * @param n      the maximum number of keys to remove
+     * @return the number of keys removed, less than {@code n} if the heap ran out
+     */
+    public int pollN(long[] dest, int offset, int n) {
+      int count = Math.min(n, size);
+      for (int i = 0; i < count; i++) {
+        dest[offset + i] = arr[0];
+        long last = arr[--size];
+        if (size > 0) {
+          siftDown(0, last);
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Returns the number of keys in the heap.
+     *
+     * @return the size of the heap
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return {@code true} if the heap is empty
+     */
+    public boolean isEmpty() {
+      return size == 0;
+    }
+
+    /**
+     * Removes every key, keeping the current capacity.
+     */
+    public void clear() {
+      size = 0;
+    }
+
+    private void siftUp(int i, long key) {
+      while (i > 0) {
+        int parent = (i - 1) / arity;
+        if (arr[parent] <= key) {
+          break;
+        }
+        arr[i] = arr[parent];
+        i = parent;
+      }
+      arr[i] = key;
+    }
+
+    private void siftDown(int i, long key) {
+      while (true) {
+        int firstChild = i * arity + 1;
+        if (firstChild >= size) {
+          break;
+        }
+        int end = Math.min(firstChild + arity, size);
+        int smallest = firstChild;
+        for (int child = firstChild + 1; child < end; child++) {
+          if (arr[child] < arr[smallest]) {
+            smallest = child;
+          }
+        }
+        if (key <= arr[smallest]) {
+          break;
+        }
+        arr[i] = arr[smallest];
+        i = smallest;
+      }
+      arr[i] = key;
+    }
+  }
+
+  /**
+   * Indexed min-heap: items are ids {@code 0..capacity-1}, each with an {@code int} key that can be
+   * changed while the id is in the heap, as needed by Dijkstra's and Prim's algorithms.
+   * A position array maps each id to its slot in the heap, so {@link #decreaseKey(int, int)} is O(log n)
+   * instead of a linear search.
+   */
+  public static class IndexedIntHeap {
+    private final int arity;
+    private final int[] heap;       // heap slot -> id
+    private final int[] positions;  // id -> heap slot, or -1 if the id is not in the heap
+    private final int[] keys;       // id -> key
+    private int size = 0;
+
+    /**
+     * Creates an empty binary heap for ids {@code 0..capacity-1}.
+     *
+     * @param capacity the number of ids
+     */
+    public IndexedIntHeap(int capacity) {
+      this(2, capacity);
+    }
+
+    /**
+     * Creates an empty heap for ids {@code 0..capacity-1}.
+     *
+     * @param arity    the number of children per node, at least 2
+     * @param capacity the number of ids
+     */
+    public IndexedIntHeap(int arity, int capacity) {
+      this.arity = checkArity(arity);
+      this.heap = new int[capacity];
+      this.positions = new int[capacity];
+      this.keys = new int[capacity];
+      Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Adds an id with the given key.
+     *
+     * @param id  the id to add
+     * @param key the key of the id
+     * @throws IllegalArgumentException if the id is already in the heap
+     */
+    public void insert(int id, int key) {
+      if (positions[id] != -1) {
+        throw new IllegalArgumentException("Id " + id + " is already in the heap");
+      }
+      keys[id] = key;
+      siftUp(size++, id);
+    }
+
+    /**
+     * Checks if an id is in the heap.
+     *
+     * @param id the id to look for
+     * @return {@code true} if the id is in the heap
+     */
+    public boolean contains(int id) {
+      return positions[id] != -1;
+    }
+
+    /**
+     * Returns the key of an id in the heap.
+     *
+     * @param id the id
+     * @return the key of the id
+     * @throws NoSuchElementException if the id is not in the heap
+     */
+    public int keyOf(int id) {
+      if (positions[id] == -1) {
+        throw new NoSuchElementException("Id " + id + " is not in the heap");
+      }
+      return keys[id];
+    }
+
+    /**
+     * Lowers the key of an id in the heap. Time complexity O(log n).
+     *
+     * @param id  the id
+     * @param key the new key, not greater than the current one
+     * @throws NoSuchElementException   if the id is not in the heap
+     * @throws IllegalArgumentException if the new key is greater than the current one
+     */
+    public void decreaseKey(int id, int key) {
+      if (positions[id] == -1) {
+        throw new NoSuchElementException("Id " + id + " is not in the heap");
+      }
+      if (key > keys[id]) {
+        throw new IllegalArgumentException("New key is greater than the current key");
+      }
+      keys[id] = key;
+      siftUp(positions[id], id);
+    }
+
+    /**
+     * Sets the key of an id, inserting the id if it is not in the heap. Time complexity O(log n).
+     *
+     * @param id  the id
+     * @param key the new key
+     */
+    public void changeKey(int id, int key) {
+      if (positions[id] == -1) {
+        insert(id, key);
+        return;
+      }
+      int old = keys[id];
+      keys[id] = key;
+      if (key < old) {
+        siftUp(positions[id], id);
+      } else {
+        siftDown(positions[id], id);
+      }
+    }
+
+    /**
+     * Returns the id with the smallest key without removing it.
+     *
+     * @return the id with the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int peekId() {
+      if (size == 0) {
+        throw new NoSuchElementException("Heap is empty");
+      }
+      return heap[0];
+    }
+
+    /**
+     * Removes and returns the id with the smallest key. Time complexity O(log n).
+     *
+     * @return the id with the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int pollId() {
+      if (size == 0) {
+        throw new NoSuchElementException("Heap is empty");
+      }
+      int min = heap[0];
+      positions[min] = -1;
+      int last = heap[--size];
+      if (size > 0) {
+        siftDown(0, last);
+      }
+      return min;
+    }
+
+    /**
+     * Returns the number of keys in the heap.
+     *
+     * @return the size of the heap
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return {@code true} if the heap is empty
+     */
+    public boolean isEmpty() {
+      return size == 0;
+    }
+
+    private void siftUp(int i, int id) {
+      int key = keys[id];
+      while (i > 0) {
+        int parent = (i - 1) / arity;
+        if (keys[heap[parent]] <= key) {
+          break;
+        }
+        heap[i] = heap[parent];
+        positions[heap[i]] = i;
+        i = parent;
+      }
+      heap[i] = id;
+      positions[id] = i;
+    }
+
+    private void siftDown(int i, int id) {
+      int key = keys[id];
+      while (true) {
+        int firstChild = i * arity + 1;
+        if (firstChild >= size) {
+          break;
+        }
+        int end = Math.min(firstChild + arity, size);
+        int smallest = firstChild;
+        for (int child = firstChild + 1; child < end; child++) {
+          if (keys[heap[child]] < keys[heap[smallest]]) {
+            smallest = child;
+          }
+        }
+        if (key <= keys[heap[smallest]]) {
+          break;
+        }
+        heap[i] = heap[smallest];
+        positions[heap[i]] = i;
+        i = smallest;
+      }
+      heap[i] = id;
+      positions[id] = i;
+    }
+  }
+
+  public static void main(String[] args) {
+    IntHeap heap = IntHeap.heapify(new int[]{42, 7, 19, 3, 88, 1}, 4);
+    heap.add(5);
+    int[] smallest = new int[3];
+    heap.pollN(smallest, 0, 3);
+    System.out.println("Three smallest : " + Arrays.toString(smallest));
+    System.out.println("Next : " + heap.poll());
+
+    IndexedIntHeap distances = new IndexedIntHeap(4);
+    distances.insert(0, 10);
+    distances.insert(1, 20);
+    distances.insert(2, 30);
+    distances.decreaseKey(2, 5);
+    System.out.println("Closest id : " + distances.pollId());
+  }
+}
@@ -0,0 +1,68 @@
+package org.example.linkedlist;
+
+import org.example.multiThreading.lock.Guard;
+
+/**
+ * Thread-safe {@link DoublyLinkedList}. Positional gets walk a bounded number of links and run as optimistic
+ * reads; sums walk the whole list, which a concurrent reverse could turn into a cycle, so they hold the read
+ * lock.
+ */
+public class ConcurrentDoublyLinkedList {
+  private final Guard<DoublyLinkedList> guard;
+
+  /**
+   * Creates an empty list with optimistic reads.
+   */
+  public ConcurrentDoublyLinkedList() {
+    this(Guard.stamped(new DoublyLinkedList()));
+  }
+
+  /**
+   * Wraps a guarded list, for example to compare against {@link Guard#synchronizedOn(Object)}.
+   *
+   * @param guard the guard around the list; the list must not be used without it
+   */
+  public ConcurrentDoublyLinkedList(Guard<DoublyLinkedList> guard) {
+    this.guard = guard;
+  }
+
+  public void insertAtTail(int value) {
+    guard.update(list -> list.insertAtTail(value));
+  }
+
+  public void insertAtHead(int value) {
+    guard.update(list -> list.insertAtHead(value));
+  }
+
+  public int removeFirst() {
+    return guard.write(DoublyLinkedList::removeFirst);
+  }
+
+  public int removeLast() {
+    return guard.write(DoublyLinkedList::removeLast);
+  }
+
+  /**
+   * Retrieves the value of the node at the specified position, counting from 1 like
+   * {@link DoublyLinkedList#getAt(int)}.
+   *
+   * @param position the position of the node
+   * @return the value of the node
+   */
+  public int getAt(int position) {
+    return guard.optimisticRead(list -> list.getAt(position));
+  }
+
+  public void reverse() {
+    guard.update(DoublyLinkedList::reverse);
+  }
+
+  /**
+   * Sums every value in the list.
+   *
+   * @return the sum of the values
+   */
+  public long sum() {
+    return guard.read(list -> list.intStream().asLongStream().sum());
+  }
+}
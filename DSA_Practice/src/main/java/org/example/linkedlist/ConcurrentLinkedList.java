@@ -0,0 +1,91 @@
+package org.example.linkedlist;
+
+import org.example.multiThreading.lock.Guard;
+
+/**
+ * Thread-safe {@link LinkedList}. Indexed gets walk a bounded number of links and run as optimistic reads;
+ * sums walk the whole list, which a concurrent reverse could turn into a cycle, so they hold the read lock.
+ */
+public class ConcurrentLinkedList {
+    private final Guard<LinkedList> guard;
+
+    /**
+     * Creates a list with an initial node and optimistic reads.
+     *
+     * @param value the value of the initial node
+     */
+    public ConcurrentLinkedList(Integer value) {
+        this(Guard.stamped(new LinkedList(value)));
+    }
+
+    /**
+     * Wraps a guarded list, for example to compare against {@link Guard#synchronizedOn(Object)}.
+     *
+     * @param guard the guard around the list; the list must not be used without it
+     */
+    public ConcurrentLinkedList(Guard<LinkedList> guard) {
+        this.guard = guard;
+    }
+
+    public void append(Integer value) {
+        guard.update(list -> list.append(value));
+    }
+
+    public void prepend(Integer value) {
+        guard.update(list -> list.prepend(value));
+    }
+
+    /**
+     * Removes the first node.
+     *
+     * @return the value of the removed node, or null if the list is empty
+     */
+    public Integer removeFirst() {
+        return guard.write(list -> {
+            LinkedList.Node node = list.removeFirst();
+            return (node == null) ? null : node.value;
+        });
+    }
+
+    /**
+     * Removes the last node.
+     *
+     * @return the value of the removed node, or null if the list is empty
+     */
+    public Integer removeLast() {
+        return guard.write(list -> {
+            LinkedList.Node node = list.removeLast();
+            return (node == null) ? null : node.value;
+        });
+    }
+
+    /**
+     * Returns the value at an index.
+     *
+     * @param index the index of the node
+     * @return the value, or null if the index is out of range
+     */
+    public Integer get(int index) {
+        return guard.optimisticRead(list -> {
+            LinkedList.Node node = list.get(index);
+            return (node == null) ? null : node.value;
+        });
+    }
+
+    public boolean set(int index, int value) {
+        return guard.write(list -> list.set(index, value));
+    }
+
+    public void reverse() {
+        guard.update(LinkedList::reverse);
+    }
+
+    /**
+     * Sums every value in the list.
+     *
+     * @return the sum of the values
+     */
+    public long sum() {
+        return guard.read(list -> list.stream().mapToLong(Integer::longValue).sum());
+    }
+}
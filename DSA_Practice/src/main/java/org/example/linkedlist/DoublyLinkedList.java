@@ -1,11 +1,30 @@
 package org.example.linkedlist;
 
 import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * A class representing a doubly linked list data structure.
  */
-public class DoublyLinkedList {
+public class DoublyLinkedList implements Iterable<Integer> {
+  /**
+   * Lists shorter than this are sorted and reversed sequentially even when a parallel
+   * operation is requested, because splitting them costs more than it saves.
+   */
+  static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  /**
+   * A spliterator holding fewer nodes than this refuses to split, so parallel streams
+   * do not spend more time walking to the middle than processing the values.
+   */
+  static final int MIN_SPLIT_SIZE = 1 << 10;
+
   Node head;
   Node tail;
   private int size;
@@ -55,6 +74,8 @@ public class DoublyLinkedList {
     newNode.next = head;
     if (head != null) {
       head.previous = newNode;
+    } else {
+      tail = newNode;
     }
     head = newNode;
     size++;
@@ -74,7 +95,6 @@ public class DoublyLinkedList {
 
     if (position == 1) {
       insertAtHead(value);
-      size++;
       return;
     }
 
@@ -95,6 +115,8 @@ public class DoublyLinkedList {
 
     if (nextNode != null) {
       nextNode.previous = newNode;
+    } else {
+      tail = newNode;
     }
     size++;
   }
@@ -273,6 +295,329 @@ public class DoublyLinkedList {
 
 
 
+  /**
+   * Reverses the list by swapping the next and previous references of every node.
+   * Time complexity O(n), space complexity O(1).
+   */
+  public void reverse() {
+    Node currentNode = head;
+    while (currentNode != null) {
+      Node nextNode = currentNode.next;
+      currentNode.next = currentNode.previous;
+      currentNode.previous = nextNode;
+      currentNode = nextNode;
+    }
+    Node temp = head;
+    head = tail;
+    tail = temp;
+  }
+
+  /**
+   * Reverses the list on the common fork-join pool.
+   * Swapping the two references of a node never touches its neighbours, so after a single walk that
+   * records where each run starts, every run is swapped concurrently. Small lists are reversed sequentially.
+   */
+  public void parallelReverse() {
+    int parts = ForkJoinPool.commonPool().getParallelism() * 4;
+    if (size < PARALLEL_THRESHOLD || parts < 2) {
+      reverse();
+      return;
+    }
+    int runLength = (size + parts - 1) / parts;
+    int runs = (size + runLength - 1) / runLength;
+    Node[] starts = new Node[runs];
+    Node currentNode = head;
+    for (int i = 0; i < size; i++) {
+      if (i % runLength == 0) {
+        starts[i / runLength] = currentNode;
+      }
+      currentNode = currentNode.next;
+    }
+    int total = size;
+    IntStream.range(0, runs).parallel().forEach(run -> {
+      Node node = starts[run];
+      int count = Math.min(runLength, total - run * runLength);
+      for (int i = 0; i < count; i++) {
+        Node nextNode = node.next;
+        node.next = node.previous;
+        node.previous = nextNode;
+        node = nextNode;
+      }
+    });
+    Node temp = head;
+    head = tail;
+    tail = temp;
+  }
+
+  /**
+   * Sorts the list in ascending order using a bottom-up merge sort.
+   * The nodes are relinked in place, so no node is copied or allocated apart from a single sentinel.
+   * Time complexity O(n log n), space complexity O(1).
+   */
+  public void sort() {
+    if (size < 2) {
+      return;
+    }
+    Node sentinel = new Node(0);
+    tail = sortRun(head, size, sentinel);
+    head = sentinel.next;
+    head.previous = null;
+  }
+
+  /**
+   * Sorts the list in ascending order on the common fork-join pool.
+   * The list is cut into one run per task, the runs are sorted concurrently with {@link #sort()}'s
+   * bottom-up merge sort and then merged pairwise, again in parallel, until one list remains.
+   * Small lists are sorted sequentially.
+   */
+  public void parallelSort() {
+    int parts = ForkJoinPool.commonPool().getParallelism() * 4;
+    if (size < PARALLEL_THRESHOLD || parts < 2) {
+      sort();
+      return;
+    }
+    int runLength = (size + parts - 1) / parts;
+    parts = (size + runLength - 1) / runLength;
+    Node[] runs = new Node[parts];
+    Node currentNode = head;
+    for (int i = 0; i < parts; i++) {
+      runs[i] = currentNode;
+      currentNode = cut(currentNode, runLength);
+    }
+    SortTask task = new SortTask(runs, runLength, 0, parts);
+    ForkJoinPool.commonPool().invoke(task);
+    head = task.first;
+    head.previous = null;
+    tail = task.last;
+  }
+
+  /**
+   * Sorts the first {@code n} nodes starting at {@code first} with a bottom-up merge sort.
+   * On return {@code sentinel.next} is the smallest node.
+   *
+   * @param first    the first node of the run
+   * @param n        the number of nodes in the run
+   * @param sentinel a spare node used as the anchor of each merge pass
+   * @return the last node of the sorted run
+   */
+  private static Node sortRun(Node first, int n, Node sentinel) {
+    sentinel.next = first;
+    Node last = first;
+    for (int width = 1; width < n; width <<= 1) {
+      Node currentNode = sentinel.next;
+      last = sentinel;
+      while (currentNode != null) {
+        Node left = currentNode;
+        Node right = cut(left, width);
+        currentNode = cut(right, width);
+        last = merge(left, right, last);
+      }
+    }
+    return last;
+  }
+
+  /**
+   * Detaches the first {@code n} nodes starting at {@code first} from the rest of the chain.
+   *
+   * @param first the first node to keep
+   * @param n     the number of nodes to keep
+   * @return the first node after the detached part, or null if there is none
+   */
+  private static Node cut(Node first, int n) {
+    while (first != null && --n > 0) {
+      first = first.next;
+    }
+    if (first == null) {
+      return null;
+    }
+    Node rest = first.next;
+    first.next = null;
+    return rest;
+  }
+
+  /**
+   * Merges two sorted chains behind {@code last}, fixing the previous references on the way.
+   * Equal values keep their order, so the sort is stable.
+   *
+   * @param left  the first sorted chain
+   * @param right the second sorted chain
+   * @param last  the node the merged chain is appended to
+   * @return the last node of the merged chain
+   */
+  private static Node merge(Node left, Node right, Node last) {
+    while (left != null && right != null) {
+      if (left.value <= right.value) {
+        last.next = left;
+        left = left.next;
+      } else {
+        last.next = right;
+        right = right.next;
+      }
+      last.next.previous = last;
+      last = last.next;
+    }
+    last.next = (left != null) ? left : right;
+    while (last.next != null) {
+      last.next.previous = last;
+      last = last.next;
+    }
+    return last;
+  }
+
+  /**
+   * Fork-join task that sorts the runs {@code [lo, hi)} and merges them into one chain.
+   */
+  private static class SortTask extends RecursiveAction {
+    private final Node[] runs;
+    private final int runLength;
+    private final int lo;
+    private final int hi;
+    Node first;
+    Node last;
+
+    SortTask(Node[] runs, int runLength, int lo, int hi) {
+      this.runs = runs;
+      this.runLength = runLength;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      Node sentinel = new Node(0);
+      if (hi - lo == 1) {
+        last = sortRun(runs[lo], runLength, sentinel);
+        first = sentinel.next;
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      SortTask left = new SortTask(runs, runLength, lo, mid);
+      SortTask right = new SortTask(runs, runLength, mid, hi);
+      left.fork();
+      right.compute();
+      left.join();
+      last = merge(left.first, right.first, sentinel);
+      first = sentinel.next;
+    }
+  }
+
+  /**
+   * Returns an iterator over the values from head to tail.
+   * The returned iterator also offers {@code nextInt()}, which avoids boxing.
+   * It is not fail-fast, so the list must not be modified while it is in use.
+   *
+   * @return an iterator over the values of the list
+   */
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    return new PrimitiveIterator.OfInt() {
+      private Node currentNode = head;
+
+      @Override
+      public boolean hasNext() {
+        return currentNode != null;
+      }
+
+      @Override
+      public int nextInt() {
+        if (currentNode == null) {
+          throw new NoSuchElementException();
+        }
+        int value = currentNode.value;
+        currentNode = currentNode.next;
+        return value;
+      }
+    };
+  }
+
+  /**
+   * Returns a sized primitive spliterator over the values from head to tail.
+   * Because the size is known, {@code trySplit} hands off exactly half of the remaining nodes.
+   *
+   * @return a spliterator over the values of the list
+   */
+  @Override
+  public Spliterator.OfInt spliterator() {
+    return new NodeSpliterator(head, size);
+  }
+
+  /**
+   * Returns a sequential {@link IntStream} over the values of the list without copying or boxing them.
+   *
+   * @return a sequential stream over the list
+   */
+  public IntStream intStream() {
+    return StreamSupport.intStream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel {@link IntStream} over the values of the list without copying or boxing them.
+   *
+   * @return a parallel stream over the list
+   */
+  public IntStream parallelIntStream() {
+    return StreamSupport.intStream(spliterator(), true);
+  }
+
+  /**
+   * Primitive spliterator over a run of {@code remaining} nodes starting at {@code currentNode}.
+   */
+  private static class NodeSpliterator implements Spliterator.OfInt {
+    private Node currentNode;
+    private int remaining;
+
+    NodeSpliterator(Node currentNode, int remaining) {
+      this.currentNode = currentNode;
+      this.remaining = remaining;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+      if (remaining == 0) {
+        return false;
+      }
+      action.accept(currentNode.value);
+      currentNode = currentNode.next;
+      remaining--;
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+      Node node = currentNode;
+      for (int i = 0; i < remaining; i++) {
+        action.accept(node.value);
+        node = node.next;
+      }
+      currentNode = node;
+      remaining = 0;
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+      if (remaining < MIN_SPLIT_SIZE) {
+        return null;
+      }
+      int half = remaining >>> 1;
+      Node prefix = currentNode;
+      for (int i = 0; i < half; i++) {
+        currentNode = currentNode.next;
+      }
+      remaining -= half;
+      return new NodeSpliterator(prefix, half);
+    }
+
+    @Override
+    public long estimateSize() {
+      return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+  }
+
   /**
    * The main method to demonstrate the functionality of the DoublyLinkedList class.
    *
@@ -290,5 +635,24 @@ public class DoublyLinkedList {
 
     System.out.println("Last node ==> " + dll.removeLast());
     dll.display();
+
+    dll.sort();
+    dll.display();
+    dll.reverse();
+    dll.displayRev();
+
+    System.out.println("Max using stream ==> " + dll.intStream().max().getAsInt());
+
+    // Built from the head and the middle, so reverse() depends on those inserts keeping tail up to date
+    DoublyLinkedList fromHead = new DoublyLinkedList();
+    fromHead.insertAtHead(2);
+    fromHead.insertAtHead(1);
+    fromHead.insertAt(3, 3);
+    fromHead.insertAtTail(4);
+    fromHead.reverse();
+    if (fromHead.head == null || fromHead.head.value != 4 || fromHead.tail.value != 1) {
+      throw new IllegalStateException("Reverse lost the list built with insertAtHead");
+    }
+    fromHead.display();
   }
 }
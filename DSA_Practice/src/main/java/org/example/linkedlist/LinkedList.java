@@ -1,10 +1,32 @@
 package org.example.linkedlist;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * This class represents a simple singly linked list data structure.
  * It allows operations such as adding nodes to the end of the list and printing the list.
  */
-public class LinkedList {
+public class LinkedList implements Iterable<Integer> {
+    /**
+     * Lists shorter than this are sorted and reversed sequentially even when a parallel
+     * operation is requested, because splitting them costs more than it saves.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * A spliterator holding fewer nodes than this refuses to split, so parallel streams
+     * do not spend more time walking to the middle than processing the values.
+     */
+    static final int MIN_SPLIT_SIZE = 1 << 10;
+
     private Node head;
     private Node tail;
     private Integer length = 0;
@@ -211,6 +233,312 @@ public class LinkedList {
 
     }
 
+    /**
+     * Sorts the list in ascending order using a bottom-up merge sort.
+     * The nodes are relinked in place, so no node is copied or allocated apart from a single sentinel.
+     * Time complexity O(n log n), space complexity O(1).
+     */
+    public void sort() {
+        if (length < 2) {
+            return;
+        }
+        Node sentinel = new Node(null);
+        tail = sortRun(head, length, sentinel);
+        head = sentinel.next;
+    }
+
+    /**
+     * Sorts the list in ascending order on the common fork-join pool.
+     * The list is cut into one run per task, the runs are sorted concurrently with {@link #sort()}'s
+     * bottom-up merge sort and then merged pairwise, again in parallel, until one list remains.
+     * Small lists are sorted sequentially.
+     */
+    public void parallelSort() {
+        int parts = ForkJoinPool.commonPool().getParallelism() * 4;
+        if (length < PARALLEL_THRESHOLD || parts < 2) {
+            sort();
+            return;
+        }
+        int runLength = (length + parts - 1) / parts;
+        parts = (length + runLength - 1) / runLength;
+        Node[] runs = new Node[parts];
+        Node current = head;
+        for (int i = 0; i < parts; i++) {
+            runs[i] = current;
+            current = cut(current, runLength);
+        }
+        SortTask task = new SortTask(runs, runLength, 0, parts);
+        ForkJoinPool.commonPool().invoke(task);
+        head = task.first;
+        tail = task.last;
+    }
+
+    /**
+     * Reverses the list on the common fork-join pool.
+     * A single walk records where each run starts, then every run is reversed concurrently with the
+     * same swapping technique as {@link #reverse()}, pointing its first node at the end of the previous run.
+     * Small lists are reversed sequentially.
+     */
+    public void parallelReverse() {
+        int parts = ForkJoinPool.commonPool().getParallelism() * 4;
+        if (length < PARALLEL_THRESHOLD || parts < 2) {
+            reverse();
+            return;
+        }
+        int runLength = (length + parts - 1) / parts;
+        int runs = (length + runLength - 1) / runLength;
+        Node[] starts = new Node[runs];
+        Node[] befores = new Node[runs];
+        Node current = head;
+        Node previous = null;
+        for (int i = 0; i < length; i++) {
+            if (i % runLength == 0) {
+                starts[i / runLength] = current;
+                befores[i / runLength] = previous;
+            }
+            previous = current;
+            current = current.next;
+        }
+        int total = length;
+        IntStream.range(0, runs).parallel().forEach(run -> {
+            Node temp = starts[run];
+            Node before = befores[run];
+            int count = Math.min(runLength, total - run * runLength);
+            for (int i = 0; i < count; i++) {
+                Node after = temp.next;
+                temp.next = before;
+                before = temp;
+                temp = after;
+            }
+        });
+        Node temp = head;
+        head = tail;
+        tail = temp;
+    }
+
+    /**
+     * Sorts the first {@code n} nodes starting at {@code first} with a bottom-up merge sort.
+     * On return {@code sentinel.next} is the smallest node.
+     *
+     * @param first    the first node of the run
+     * @param n        the number of nodes in the run
+     * @param sentinel a spare node used as the anchor of each merge pass
+     * @return the last node of the sorted run
+     */
+    private static Node sortRun(Node first, int n, Node sentinel) {
+        sentinel.next = first;
+        Node last = first;
+        for (int width = 1; width < n; width <<= 1) {
+            Node current = sentinel.next;
+            last = sentinel;
+            while (current != null) {
+                Node left = current;
+                Node right = cut(left, width);
+                current = cut(right, width);
+                last = merge(left, right, last);
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Detaches the first {@code n} nodes starting at {@code first} from the rest of the chain.
+     *
+     * @param first the first node to keep
+     * @param n     the number of nodes to keep
+     * @return the first node after the detached part, or null if there is none
+     */
+    private static Node cut(Node first, int n) {
+        while (first != null && --n > 0) {
+            first = first.next;
+        }
+        if (first == null) {
+            return null;
+        }
+        Node rest = first.next;
+        first.next = null;
+        return rest;
+    }
+
+    /**
+     * Merges two sorted chains behind {@code last}. Equal values keep their order, so the sort is stable.
+     *
+     * @param left  the first sorted chain
+     * @param right the second sorted chain
+     * @param last  the node the merged chain is appended to
+     * @return the last node of the merged chain
+     */
+    private static Node merge(Node left, Node right, Node last) {
+        while (left != null && right != null) {
+            if (left.value <= right.value) {
+                last.next = left;
+                left = left.next;
+            } else {
+                last.next = right;
+                right = right.next;
+            }
+            last = last.next;
+        }
+        last.next = (left != null) ? left : right;
+        while (last.next != null) {
+            last = last.next;
+        }
+        return last;
+    }
+
+    /**
+     * Fork-join task that sorts the runs {@code [lo, hi)} and merges them into one chain.
+     */
+    private class SortTask extends RecursiveAction {
+        private final Node[] runs;
+        private final int runLength;
+        private final int lo;
+        private final int hi;
+        Node first;
+        Node last;
+
+        SortTask(Node[] runs, int runLength, int lo, int hi) {
+            this.runs = runs;
+            this.runLength = runLength;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            Node sentinel = new Node(null);
+            if (hi - lo == 1) {
+                last = sortRun(runs[lo], runLength, sentinel);
+                first = sentinel.next;
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            SortTask left = new SortTask(runs, runLength, lo, mid);
+            SortTask right = new SortTask(runs, runLength, mid, hi);
+            left.fork();
+            right.compute();
+            left.join();
+            last = merge(left.first, right.first, sentinel);
+            first = sentinel.next;
+        }
+    }
+
+    /**
+     * Returns an iterator over the values from head to tail.
+     * The iterator is not fail-fast, so the list must not be modified while it is in use.
+     *
+     * @return an iterator over the values of the list
+     */
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<>() {
+            private Node current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public Integer next() {
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                Integer value = current.value;
+                current = current.next;
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Returns a sized spliterator over the values from head to tail.
+     * Because the length is known, {@code trySplit} hands off exactly half of the remaining nodes.
+     *
+     * @return a spliterator over the values of the list
+     */
+    @Override
+    public Spliterator<Integer> spliterator() {
+        return new NodeSpliterator(head, length);
+    }
+
+    /**
+     * Returns a sequential stream over the values of the list without copying them.
+     *
+     * @return a sequential stream over the list
+     */
+    public Stream<Integer> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the values of the list without copying them.
+     *
+     * @return a parallel stream over the list
+     */
+    public Stream<Integer> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Spliterator over a run of {@code remaining} nodes starting at {@code current}.
+     */
+    private static class NodeSpliterator implements Spliterator<Integer> {
+        private Node current;
+        private int remaining;
+
+        NodeSpliterator(Node current, int remaining) {
+            this.current = current;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Integer> action) {
+            if (remaining == 0) {
+                return false;
+            }
+            action.accept(current.value);
+            current = current.next;
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Integer> action) {
+            Node node = current;
+            for (int i = 0; i < remaining; i++) {
+                action.accept(node.value);
+                node = node.next;
+            }
+            current = node;
+            remaining = 0;
+        }
+
+        @Override
+        public Spliterator<Integer> trySplit() {
+            if (remaining < MIN_SPLIT_SIZE) {
+                return null;
+            }
+            int half = remaining >>> 1;
+            Node prefix = current;
+            for (int i = 0; i < half; i++) {
+                current = current.next;
+            }
+            remaining -= half;
+            return new NodeSpliterator(prefix, half);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
     /**
      * Main method to demonstrate the usage of the LinkedList class.
      *
@@ -250,5 +578,12 @@ public class LinkedList {
         myLinkedList.reverse();
         myLinkedList.printLinkedList();
 
+        myLinkedList.append(7);
+        myLinkedList.prepend(90);
+        myLinkedList.sort();
+        myLinkedList.printLinkedList();
+
+        System.out.println("Sum using stream --> " + myLinkedList.stream().mapToInt(Integer::intValue).sum());
+
     }
 }
@@ -0,0 +1,446 @@
+package org.example.linkedlist;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A doubly linked list with the same API as {@link DoublyLinkedList} whose nodes live outside the heap.
+ *
+ * <p>Each node is a 12 byte slot holding its value and the slot indices of the previous and next node,
+ * so the garbage collector never sees the nodes. Slots are stored in fixed-size chunks that are either
+ * direct buffers ({@link #offHeap()}) or regions of a memory-mapped file ({@link #open(Path)}).
+ * A file-backed list can be closed and reopened later with all its nodes intact.
+ * Removed slots are kept on a free list and reused by later inserts.
+ */
+public class MappedDoublyLinkedList implements Closeable {
+  private static final int NIL = -1;
+
+  private static final int SLOT_BYTES = 12;
+  private static final int VALUE = 0;
+  private static final int PREVIOUS = 4;
+  private static final int NEXT = 8;
+
+  private static final int CHUNK_SHIFT = 18;
+  private static final int SLOTS_PER_CHUNK = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = SLOTS_PER_CHUNK - 1;
+  private static final int CHUNK_BYTES = SLOTS_PER_CHUNK * SLOT_BYTES;
+
+  private static final int MAGIC = 0x444C4C31;
+  private static final int HEADER_BYTES = 32;
+  private static final int HEADER_MAGIC = 0;
+  private static final int HEADER_HEAD = 4;
+  private static final int HEADER_TAIL = 8;
+  private static final int HEADER_SIZE = 12;
+  private static final int HEADER_USED = 16;
+  private static final int HEADER_FREE = 20;
+
+  private final FileChannel channel;
+  private final ByteBuffer header;
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+
+  private int head;
+  private int tail;
+  private int size;
+  private int used;
+  private int free;
+
+  private MappedDoublyLinkedList(FileChannel channel) throws IOException {
+    this.channel = channel;
+    if (channel == null) {
+      header = ByteBuffer.allocateDirect(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    } else {
+      header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    if (header.getInt(HEADER_MAGIC) == MAGIC) {
+      head = header.getInt(HEADER_HEAD);
+      tail = header.getInt(HEADER_TAIL);
+      size = header.getInt(HEADER_SIZE);
+      used = header.getInt(HEADER_USED);
+      free = header.getInt(HEADER_FREE);
+      while ((long) chunks.size() * SLOTS_PER_CHUNK < used) {
+        mapChunk();
+      }
+    } else {
+      head = NIL;
+      tail = NIL;
+      free = NIL;
+      header.putInt(HEADER_MAGIC, MAGIC);
+      writeHeader();
+    }
+  }
+
+  /**
+   * Creates an empty list whose nodes are stored in direct buffers outside the heap.
+   * The nodes are released when the list becomes unreachable.
+   *
+   * @return a new off-heap list
+   */
+  public static MappedDoublyLinkedList offHeap() {
+    try {
+      return new MappedDoublyLinkedList(null);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Opens the list stored in the given file, creating an empty one if the file does not exist.
+   *
+   * @param file the file backing the list
+   * @return the list stored in the file
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public static MappedDoublyLinkedList open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      return new MappedDoublyLinkedList(channel);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Inserts a new node with the specified value at the tail of the list.
+   *
+   * @param value the value of the new node
+   */
+  public void insertAtTail(int value) {
+    int slot = allocate(value);
+    setPrevious(slot, tail);
+    setNext(slot, NIL);
+    if (head == NIL) {
+      head = slot;
+    } else {
+      setNext(tail, slot);
+    }
+    tail = slot;
+    size++;
+    writeHeader();
+  }
+
+  /**
+   * Inserts a new node with the specified value at the head of the list.
+   *
+   * @param value the value of the new node
+   */
+  public void insertAtHead(int value) {
+    int slot = allocate(value);
+    setPrevious(slot, NIL);
+    setNext(slot, head);
+    if (head == NIL) {
+      tail = slot;
+    } else {
+      setPrevious(head, slot);
+    }
+    head = slot;
+    size++;
+    writeHeader();
+  }
+
+  /**
+   * Inserts a new node with the specified value at the specified position in the list.
+   *
+   * @param value    the value of the new node
+   * @param position the position at which to insert the new node, starting from 1
+   * @throws IllegalArgumentException if the position is less than or equal to 0 or greater than the length of the list plus one
+   */
+  public void insertAt(int value, int position) {
+    if (position <= 0) {
+      throw new IllegalArgumentException("Position must be greater than 0.");
+    }
+    if (position > size + 1) {
+      throw new IllegalArgumentException("Position is greater than the length of the list.");
+    }
+    if (position == 1) {
+      insertAtHead(value);
+      return;
+    }
+    if (position == size + 1) {
+      insertAtTail(value);
+      return;
+    }
+
+    int currentSlot = slotAt(position - 2);
+    int nextSlot = next(currentSlot);
+    int slot = allocate(value);
+    setPrevious(slot, currentSlot);
+    setNext(slot, nextSlot);
+    setNext(currentSlot, slot);
+    setPrevious(nextSlot, slot);
+    size++;
+    writeHeader();
+  }
+
+  /**
+   * Retrieves the value of the node at the specified position in the list.
+   *
+   * @param position the position of the node, starting from 1
+   * @return the value of the node at the specified position
+   * @throws IndexOutOfBoundsException if the position is outside the list
+   */
+  public int getAt(int position) {
+    if (position < 1 || position > size) {
+      throw new IndexOutOfBoundsException("Invalid position");
+    }
+    return value(slotAt(position - 1));
+  }
+
+  /**
+   * Removes and returns the value of the first node in the list.
+   *
+   * @return the value of the removed first node
+   * @throws NoSuchElementException if the list is empty
+   */
+  public int removeFirst() {
+    if (head == NIL) {
+      throw new NoSuchElementException("List is empty");
+    }
+    return unlink(head);
+  }
+
+  /**
+   * Removes and returns the value of the last node in the list.
+   *
+   * @return the value of the removed last node
+   * @throws NoSuchElementException if the list is empty
+   */
+  public int removeLast() {
+    if (head == NIL) {
+      throw new NoSuchElementException("List is empty");
+    }
+    return unlink(tail);
+  }
+
+  /**
+   * Removes and returns the value of the node at the specified position.
+   *
+   * @param position the position of the node, starting from 0
+   * @return the value of the removed node
+   * @throws IndexOutOfBoundsException if the position is outside the list
+   */
+  public int removeAt(int position) {
+    if (position < 0 || position >= size) {
+      throw new IndexOutOfBoundsException("Invalid position");
+    }
+    return unlink(slotAt(position));
+  }
+
+  /**
+   * Returns the number of nodes in the list.
+   *
+   * @return the size of the list
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Displays the elements of the list from head to tail.
+   */
+  public void display() {
+    for (int slot = head; slot != NIL; slot = next(slot)) {
+      System.out.print(value(slot) + " ");
+    }
+    System.out.println();
+  }
+
+  /**
+   * Displays the elements of the list from tail to head.
+   */
+  public void displayRev() {
+    for (int slot = tail; slot != NIL; slot = previous(slot)) {
+      System.out.print(value(slot) + " ");
+    }
+    System.out.println();
+  }
+
+  /**
+   * Writes every change made so far to the backing file. Does nothing for an off-heap list.
+   */
+  public void force() {
+    if (channel == null) {
+      return;
+    }
+    for (ByteBuffer chunk : chunks) {
+      ((MappedByteBuffer) chunk).force();
+    }
+    ((MappedByteBuffer) header).force();
+  }
+
+  /**
+   * Flushes and closes the backing file. The list must not be used afterwards.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (channel != null) {
+      force();
+      channel.close();
+    }
+  }
+
+  /**
+   * Finds the slot of the node at the given index, walking from whichever end is closer.
+   *
+   * @param index the index of the node, starting from 0
+   * @return the slot of the node
+   */
+  private int slotAt(int index) {
+    int slot;
+    if (index < size / 2) {
+      slot = head;
+      for (int i = 0; i < index; i++) {
+        slot = next(slot);
+      }
+    } else {
+      slot = tail;
+      for (int i = size - 1; i > index; i--) {
+        slot = previous(slot);
+      }
+    }
+    return slot;
+  }
+
+  /**
+   * Unlinks the node in the given slot and puts the slot on the free list.
+   *
+   * @param slot the slot to remove
+   * @return the value that was stored in the slot
+   */
+  private int unlink(int slot) {
+    int previousSlot = previous(slot);
+    int nextSlot = next(slot);
+    if (previousSlot == NIL) {
+      head = nextSlot;
+    } else {
+      setNext(previousSlot, nextSlot);
+    }
+    if (nextSlot == NIL) {
+      tail = previousSlot;
+    } else {
+      setPrevious(nextSlot, previousSlot);
+    }
+    int removedValue = value(slot);
+    setNext(slot, free);
+    free = slot;
+    size--;
+    writeHeader();
+    return removedValue;
+  }
+
+  /**
+   * Takes a slot from the free list, or the next unused slot, and stores the value in it.
+   *
+   * @param value the value to store
+   * @return the allocated slot
+   */
+  private int allocate(int value) {
+    int slot;
+    if (free != NIL) {
+      slot = free;
+      free = next(slot);
+    } else {
+      if (used == Integer.MAX_VALUE) {
+        throw new IllegalStateException("List is full");
+      }
+      slot = used;
+      if ((slot >>> CHUNK_SHIFT) == chunks.size()) {
+        mapChunk();
+      }
+      used++;   // only once the slot is backed, so a failed mapping leaves the header consistent
+    }
+    chunk(slot).putInt(offset(slot) + VALUE, value);
+    return slot;
+  }
+
+  private void mapChunk() {
+    ByteBuffer chunk;
+    if (channel == null) {
+      chunk = ByteBuffer.allocateDirect(CHUNK_BYTES);
+    } else {
+      long position = HEADER_BYTES + (long) chunks.size() * CHUNK_BYTES;
+      try {
+        chunk = channel.map(FileChannel.MapMode.READ_WRITE, position, CHUNK_BYTES);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    chunks.add(chunk.order(ByteOrder.LITTLE_ENDIAN));
+  }
+
+  private void writeHeader() {
+    header.putInt(HEADER_HEAD, head);
+    header.putInt(HEADER_TAIL, tail);
+    header.putInt(HEADER_SIZE, size);
+    header.putInt(HEADER_USED, used);
+    header.putInt(HEADER_FREE, free);
+  }
+
+  private ByteBuffer chunk(int slot) {
+    return chunks.get(slot >>> CHUNK_SHIFT);
+  }
+
+  private static int offset(int slot) {
+    return (slot & CHUNK_MASK) * SLOT_BYTES;
+  }
+
+  private int value(int slot) {
+    return chunk(slot).getInt(offset(slot) + VALUE);
+  }
+
+  private int previous(int slot) {
+    return chunk(slot).getInt(offset(slot) + PREVIOUS);
+  }
+
+  private int next(int slot) {
+    return chunk(slot).getInt(offset(slot) + NEXT);
+  }
+
+  private void setPrevious(int slot, int previousSlot) {
+    chunk(slot).putInt(offset(slot) + PREVIOUS, previousSlot);
+  }
+
+  private void setNext(int slot, int nextSlot) {
+    chunk(slot).putInt(offset(slot) + NEXT, nextSlot);
+  }
+
+  /**
+   * The main method to demonstrate the functionality of the MappedDoublyLinkedList class.
+   *
+   * @param args command line arguments
+   * @throws IOException if the temporary file cannot be used
+   */
+  public static void main(String[] args) throws IOException {
+    Path file = Files.createTempFile("dll", ".bin");
+    try (MappedDoublyLinkedList dll = MappedDoublyLinkedList.open(file)) {
+      dll.insertAtTail(45);
+      dll.insertAtTail(65);
+      dll.insertAtTail(18);
+      dll.insertAtHead(78);
+      dll.display();
+      System.out.println("Last node ==> " + dll.removeLast());
+    }
+
+    try (MappedDoublyLinkedList reopened = MappedDoublyLinkedList.open(file)) {
+      System.out.print("Reopened ==> ");
+      reopened.display();
+      reopened.displayRev();
+    }
+    Files.delete(file);
+  }
+}
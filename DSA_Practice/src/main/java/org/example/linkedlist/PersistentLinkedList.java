@@ -0,0 +1,206 @@
+package org.example.linkedlist;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A persistent variant of {@link LinkedList} whose nodes are never modified once created.
+ * Prepending and removing the first element only move the head, so older versions of the list
+ * keep sharing every node they had and stay valid forever.
+ *
+ * <p>This makes {@link #snapshot()} free: a reader gets a consistent view without copying and
+ * without locks, while a single writer keeps prepending and removing on the original list.
+ */
+public class PersistentLinkedList implements Iterable<Integer> {
+    private volatile Node head;
+
+    /**
+     * Immutable node. Each node also stores the length of the chain it starts,
+     * so a single volatile read of the head gives both the values and the size.
+     */
+    static final class Node {
+        final Integer value;
+        final Node next;
+        final int length;
+
+        /**
+         * Constructor to create a new node in front of an existing chain.
+         *
+         * @param value the value to be stored in the node
+         * @param next  the chain following this node, or null
+         */
+        Node(Integer value, Node next) {
+            this.value = value;
+            this.next = next;
+            this.length = (next == null) ? 1 : next.length + 1;
+        }
+    }
+
+    /**
+     * Constructor to create an empty persistent list.
+     */
+    public PersistentLinkedList() {
+    }
+
+    private PersistentLinkedList(Node head) {
+        this.head = head;
+    }
+
+    /**
+     * Creates a persistent list holding the given values in the same order.
+     *
+     * @param values the values to copy, for example a {@link LinkedList}
+     * @return a new persistent list
+     */
+    public static PersistentLinkedList copyOf(Iterable<Integer> values) {
+        List<Integer> buffer = new ArrayList<>();
+        for (Integer value : values) {
+            buffer.add(value);
+        }
+        Node node = null;
+        for (int i = buffer.size() - 1; i >= 0; i--) {
+            node = new Node(buffer.get(i), node);
+        }
+        return new PersistentLinkedList(node);
+    }
+
+    /**
+     * Returns a view of the list as it is now. Later changes to this list are not visible in the
+     * snapshot and changes to the snapshot are not visible here. Time complexity O(1).
+     *
+     * @return a snapshot sharing all nodes with this list
+     */
+    public PersistentLinkedList snapshot() {
+        return new PersistentLinkedList(head);
+    }
+
+    /**
+     * Adds a value in front of the list. Time complexity O(1).
+     *
+     * @param value the value to be added
+     */
+    public void prepend(Integer value) {
+        head = new Node(value, head);
+    }
+
+    /**
+     * Removes the first value of the list. Time complexity O(1).
+     *
+     * @return the removed value, or null if the list is empty
+     */
+    public Integer removeFirst() {
+        Node first = head;
+        if (first == null) {
+            return null;
+        }
+        head = first.next;
+        return first.value;
+    }
+
+    /**
+     * Returns the first value of the list.
+     *
+     * @return the first value, or null if the list is empty
+     */
+    public Integer getFirst() {
+        Node first = head;
+        return (first == null) ? null : first.value;
+    }
+
+    /**
+     * Returns the value at the given index. Time complexity O(n).
+     *
+     * @param index the index of the value
+     * @return the value at the index, or null if the index is out of range
+     */
+    public Integer get(int index) {
+        Node tempNode = head;
+        if (index < 0 || tempNode == null || index >= tempNode.length) {
+            return null;
+        }
+        for (int i = 0; i < index; i++) {
+            tempNode = tempNode.next;
+        }
+        return tempNode.value;
+    }
+
+    /**
+     * Returns the number of values in the list. Time complexity O(1).
+     *
+     * @return the length of the list
+     */
+    public int size() {
+        Node first = head;
+        return (first == null) ? 0 : first.length;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return {@code true} if the list has no values
+     */
+    public boolean isEmpty() {
+        return head == null;
+    }
+
+    /**
+     * Returns an iterator over the version of the list at the time of the call.
+     * The iterator is unaffected by later changes, so it can be used while a writer is active.
+     *
+     * @return an iterator over the values of the list
+     */
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<>() {
+            private Node current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public Integer next() {
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                Integer value = current.value;
+                current = current.next;
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Prints all the values in the list.
+     */
+    public void printLinkedList() {
+        for (Integer value : this) {
+            System.out.println("In printLinkedList method --> " + value);
+        }
+    }
+
+    /**
+     * Main method to demonstrate the usage of the PersistentLinkedList class.
+     *
+     * @param args command-line arguments
+     */
+    public static void main(String[] args) {
+        PersistentLinkedList list = new PersistentLinkedList();
+        list.prepend(30);
+        list.prepend(20);
+        list.prepend(10);
+
+        PersistentLinkedList snapshot = list.snapshot();
+        list.removeFirst();
+        list.prepend(5);
+
+        System.out.println("List:");
+        list.printLinkedList();
+        System.out.println("Snapshot taken before the changes:");
+        snapshot.printLinkedList();
+        System.out.println("Snapshot length --> " + snapshot.size());
+    }
+}
@@ -7,6 +7,8 @@ import java.util.List;
 public class LinkedListVsArrayList {
 
   // Question which list takes less time LinkedList or ArrayList
+  // Timing a cold JVM with currentTimeMillis is only a rough idea, see ListBenchmark in src/jmh/java
+  // (mvn -P jmh package) for warmed-up numbers across all list types and sizes
   public static void main(String[] args) {
     List<Integer> list = new LinkedList<>();
     //List<Integer> list = new ArrayList<>();
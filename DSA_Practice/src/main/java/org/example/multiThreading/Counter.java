@@ -0,0 +1,173 @@
+package org.example.multiThreading;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter shared by several threads. {@link Synchronized} serializes every increment through its monitor;
+ * {@link #of(Type)} also offers variants that scale better under contention.
+ */
+abstract class Counter {
+
+  /**
+   * The available counter implementations.
+   */
+  enum Type {
+    /** One monitor around the count, the original counter. */
+    SYNCHRONIZED,
+    /** Lock-free {@link AtomicLong#incrementAndGet()}, a single atomic add on one shared value. */
+    ATOMIC,
+    /** Padded cells picked by a per-thread hash, summed on read. */
+    STRIPED
+  }
+
+  /**
+   * Creates a counter of the given type.
+   *
+   * @param type the implementation to use
+   * @return a new counter starting at zero
+   */
+  static Counter of(Type type) {
+    switch (type) {
+      case ATOMIC:
+        return new Atomic();
+      case STRIPED:
+        return new Striped();
+      default:
+        return new Synchronized();
+    }
+  }
+
+  public abstract void increment();
+
+  public abstract int getCount();
+
+  /**
+   * The original counter: one monitor around an {@code int}.
+   */
+  static class Synchronized extends Counter {
+    private int count = 0; // shared resource
+
+    @Override
+    public synchronized void increment() {
+      count++;
+    }
+
+    @Override
+    public synchronized int getCount() {
+      return count;
+    }
+  }
+
+  /**
+   * Counter on one {@link AtomicLong}. Lock-free, but every thread still writes the same cache line,
+   * so it stops scaling once a few threads increment at the same time.
+   */
+  static class Atomic extends Counter {
+    private final AtomicLong count = new AtomicLong();
+
+    @Override
+    public void increment() {
+      count.incrementAndGet();
+    }
+
+    @Override
+    public int getCount() {
+      return (int) count.get();
+    }
+  }
+
+  /**
+   * Counter spread over padded cells, in the style of {@link java.util.concurrent.atomic.LongAdder}.
+   *
+   * <p>Each thread increments the cell picked by its own hash, so threads rarely touch the same cache line.
+   * When a compare-and-set fails, another thread shares the cell and the hash is moved on to a different one.
+   * Reading sums all cells, so increments are cheap and {@link #getCount()} is O(cells) and only exact
+   * once the writers are done.
+   */
+  static class Striped extends Counter {
+    private static final VarHandle VALUE;
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[]{seed()});
+
+    static {
+      try {
+        VALUE = MethodHandles.lookup().findVarHandle(Cell.class, "value", long.class);
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
+    private final Cell[] cells;
+    private final int mask;
+
+    /**
+     * Creates a counter with two cells per processor.
+     */
+    Striped() {
+      this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a counter.
+     *
+     * @param stripes the minimum number of cells, rounded up to a power of two
+     */
+    Striped(int stripes) {
+      if (stripes < 1 || stripes > 1 << 16) {
+        throw new IllegalArgumentException("Stripes must be between 1 and 2^16.");
+      }
+      int size = Integer.highestOneBit(stripes);
+      if (size < stripes) {
+        size <<= 1;
+      }
+      cells = new Cell[size];
+      for (int i = 0; i < size; i++) {
+        cells[i] = new Cell();
+      }
+      mask = size - 1;
+    }
+
+    @Override
+    public void increment() {
+      int[] probe = PROBE.get();
+      int hash = probe[0];
+      while (true) {
+        Cell cell = cells[hash & mask];
+        long value = cell.value;
+        if (VALUE.compareAndSet(cell, value, value + 1)) {
+          probe[0] = hash;
+          return;
+        }
+        // Xorshift to another cell, the same way LongAdder rehashes on contention
+        hash ^= hash << 13;
+        hash ^= hash >>> 17;
+        hash ^= hash << 5;
+      }
+    }
+
+    @Override
+    public int getCount() {
+      long sum = 0;
+      for (Cell cell : cells) {
+        sum += cell.value;
+      }
+      return (int) sum;
+    }
+
+    private static int seed() {
+      // Mix the thread id so consecutive ids land on distant cells; never 0, which xorshift cannot leave
+      int hash = (int) (Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L >>> 32);
+      return (hash == 0) ? 1 : hash;
+    }
+
+    /**
+     * One counter cell, padded on both sides so neighbouring cells never share a cache line.
+     */
+    static final class Cell {
+      long p00, p01, p02, p03, p04, p05, p06, p07;
+      volatile long value;
+      long p10, p11, p12, p13, p14, p15, p16, p17;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package org.example.multiThreading;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures how each {@link Counter.Type} holds up as more threads increment the same counter.
+ *
+ * <p>Every thread is a {@link SynchronisationExample} that waits for a common start signal, so all of them
+ * increment at the same time. The harness prints increments per second for each counter type and thread
+ * count, and checks that no increment was lost.
+ */
+public class CounterContention extends SynchronisationExample {
+  private final CountDownLatch start;
+
+  public CounterContention(Counter counter, int increments, CountDownLatch start) {
+    super(counter, increments);
+    this.start = start;
+  }
+
+  @Override
+  public void run() {
+    try {
+      start.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    super.run();
+  }
+
+  /**
+   * Runs the given number of threads against a new counter and returns the increments per second.
+   *
+   * @param type       the counter to measure
+   * @param threads    the number of incrementing threads
+   * @param increments the increments done by each thread
+   * @return the increments per second across all threads
+   * @throws InterruptedException if interrupted while waiting for the threads
+   */
+  static long measure(Counter.Type type, int threads, int increments) throws InterruptedException {
+    Counter counter = Counter.of(type);
+    CountDownLatch start = new CountDownLatch(1);
+    CounterContention[] workers = new CounterContention[threads];
+    for (int i = 0; i < threads; i++) {
+      workers[i] = new CounterContention(counter, increments, start);
+      workers[i].start();
+    }
+    long begin = System.nanoTime();
+    start.countDown();
+    for (CounterContention worker : workers) {
+      worker.join();
+    }
+    long elapsed = System.nanoTime() - begin;
+    if (counter.getCount() != threads * increments) {
+      throw new IllegalStateException(type + " lost increments: " + counter.getCount());
+    }
+    return (long) threads * increments * 1_000_000_000L / Math.max(1, elapsed);
+  }
+
+  /**
+   * Prints increments per second for every counter type with 1 to 64 threads.
+   *
+   * @param args optional number of increments per measurement, split across the threads, 1,000,000 by default
+   */
+  public static void main(String[] args) {
+    int increments = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+    try {
+      report(increments);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void report(int increments) throws InterruptedException {
+    // Warm up each implementation before measuring
+    for (Counter.Type type : Counter.Type.values()) {
+      measure(type, 4, increments / 4);
+    }
+    System.out.printf("%-8s", "threads");
+    for (Counter.Type type : Counter.Type.values()) {
+      System.out.printf("%16s", type);
+    }
+    System.out.println();
+    for (int threads = 1; threads <= 64; threads *= 2) {
+      System.out.printf("%-8d", threads);
+      for (Counter.Type type : Counter.Type.values()) {
+        System.out.printf("%16d", measure(type, threads, increments / threads));
+      }
+      System.out.println();
+    }
+  }
+}
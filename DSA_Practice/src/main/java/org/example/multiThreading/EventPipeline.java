@@ -0,0 +1,425 @@
+package org.example.multiThreading;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Event pipeline in the style of the LMAX Disruptor: one producer thread writes into a pre-allocated ring of
+ * mutable events, and consumer stages read them in a dependency graph, each on its own thread.
+ *
+ * <p>Instead of handing each event over through a lock, as {@link SynchronisationExample} does with its
+ * counter, every party only advances a {@link Sequence}, a padded counter of how far it has got. The producer
+ * publishes an event by moving the cursor past its slot; a stage may process every slot up to the smallest
+ * sequence of the stages it depends on, or up to the cursor if it depends on none, and processes everything
+ * available as one batch before moving its own sequence once. The producer may reuse a slot only once every
+ * last stage has moved past it. The events are created up front and overwritten in place, so no event is
+ * allocated while the pipeline runs.
+ *
+ * <pre>{@code
+ * EventPipeline<LongEvent> pipeline = new EventPipeline<>(1 << 16, LongEvent::new, WaitStrategy.YIELD);
+ * Stage<LongEvent> parse = pipeline.handleWith(parser);
+ * Stage<LongEvent> audit = pipeline.handleWith(auditor);
+ * pipeline.handleWith(writer, parse, audit);      // runs after both
+ * pipeline.start();
+ * long sequence = pipeline.next();
+ * pipeline.get(sequence).value = 42;
+ * pipeline.publish(sequence);
+ * }</pre>
+ *
+ * <p>{@link #next()} and {@link #publish(long)} may only be called by one producer thread.
+ *
+ * @param <E> the type of the events in the ring
+ */
+public class EventPipeline<E> implements AutoCloseable {
+  private final Object[] events;
+  private final int mask;
+  private final WaitStrategy waitStrategy;
+  private final Sequence cursor = new Sequence();
+  private final List<Stage<E>> stages = new ArrayList<>();
+  private volatile Sequence[] gating;
+  private long nextSequence = Sequence.INITIAL;
+  private long cachedGate = Sequence.INITIAL;
+  private volatile boolean running = false;
+
+  /**
+   * How a thread waits for a sequence to move.
+   */
+  public enum WaitStrategy {
+    /** Spins on the sequence. Lowest latency, but burns a whole core per waiting thread. */
+    BUSY_SPIN {
+      @Override
+      void idle(int attempt) {
+        Thread.onSpinWait();
+      }
+    },
+    /** Spins briefly, then gives up the processor with {@link Thread#yield()}, as {@link ThreadYield} does. */
+    YIELD {
+      @Override
+      void idle(int attempt) {
+        if (attempt < 100) {
+          Thread.onSpinWait();
+        } else {
+          Thread.yield();
+        }
+      }
+    },
+    /** Spins briefly, then parks for a few microseconds. Slower to react, but nearly free when idle. */
+    PARK {
+      @Override
+      void idle(int attempt) {
+        if (attempt < 100) {
+          Thread.onSpinWait();
+        } else {
+          LockSupport.parkNanos(10_000);
+        }
+      }
+    };
+
+    abstract void idle(int attempt);
+  }
+
+  /**
+   * Processes one event of a stage.
+   *
+   * @param <E> the type of the events
+   */
+  @FunctionalInterface
+  public interface Handler<E> {
+    /**
+     * Called for every event in sequence order.
+     *
+     * @param event      the event, only valid during the call
+     * @param sequence   the sequence of the event
+     * @param endOfBatch {@code true} for the last event currently available, a good time to flush
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch);
+  }
+
+  /**
+   * Creates a pipeline and fills its ring with events.
+   *
+   * @param capacity     the number of slots, rounded up to a power of two
+   * @param factory      creates the events that fill the ring
+   * @param waitStrategy how the producer and the stages wait for each other
+   */
+  public EventPipeline(int capacity, Supplier<E> factory, WaitStrategy waitStrategy) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    events = new Object[size];
+    for (int i = 0; i < size; i++) {
+      events[i] = factory.get();
+    }
+    mask = size - 1;
+    this.waitStrategy = waitStrategy;
+  }
+
+  /**
+   * Adds a stage that processes each event after all the given stages have, or straight after it is
+   * published if none are given.
+   *
+   * @param handler   the code run for each event
+   * @param dependsOn the stages that must see an event first
+   * @return the new stage, for later stages to depend on
+   * @throws IllegalStateException if the pipeline has been started
+   */
+  @SafeVarargs
+  public final synchronized Stage<E> handleWith(Handler<E> handler, Stage<E>... dependsOn) {
+    if (gating != null) {
+      throw new IllegalStateException("Stages must be added before the pipeline starts.");
+    }
+    Sequence[] barrier = new Sequence[Math.max(1, dependsOn.length)];
+    if (dependsOn.length == 0) {
+      barrier[0] = cursor;
+    }
+    for (int i = 0; i < dependsOn.length; i++) {
+      if (dependsOn[i].pipeline() != this) {
+        throw new IllegalArgumentException("Stage belongs to another pipeline.");
+      }
+      dependsOn[i].hasDependents = true;
+      barrier[i] = dependsOn[i].sequence;
+    }
+    Stage<E> stage = new Stage<>(this, handler, barrier, stages.size());
+    stages.add(stage);
+    return stage;
+  }
+
+  /**
+   * Starts a thread for every stage. The producer may reuse a slot once all stages that nothing depends on
+   * have processed it.
+   */
+  public synchronized void start() {
+    if (stages.isEmpty()) {
+      throw new IllegalStateException("Pipeline has no stages.");
+    }
+    if (gating != null) {
+      throw new IllegalStateException("Pipeline already started.");
+    }
+    gating = stages.stream().filter(stage -> !stage.hasDependents).map(stage -> stage.sequence)
+        .toArray(Sequence[]::new);
+    running = true;
+    for (Stage<E> stage : stages) {
+      stage.thread.start();
+    }
+  }
+
+  /**
+   * Claims the next slot, waiting until every last stage is done with its previous use.
+   *
+   * @return the sequence of the claimed slot
+   * @throws IllegalStateException if the pipeline has not been started
+   */
+  public long next() {
+    Sequence[] gate = gating;
+    if (gate == null) {
+      throw new IllegalStateException("Pipeline must be started before events are claimed.");
+    }
+    long sequence = ++nextSequence;
+    long wrapPoint = sequence - events.length;
+    if (wrapPoint > cachedGate) {
+      int attempt = 0;
+      long min;
+      while (wrapPoint > (min = minimum(gate))) {
+        waitStrategy.idle(attempt++);
+      }
+      cachedGate = min;
+    }
+    return sequence;
+  }
+
+  /**
+   * Returns the event in a slot, to be filled in before {@link #publish(long)}.
+   *
+   * @param sequence the sequence of the slot
+   * @return the event stored in the slot
+   */
+  @SuppressWarnings("unchecked")
+  public E get(long sequence) {
+    return (E) events[(int) sequence & mask];
+  }
+
+  /**
+   * Makes a claimed slot, and all earlier ones, visible to the stages.
+   *
+   * @param sequence the sequence returned by {@link #next()}
+   */
+  public void publish(long sequence) {
+    cursor.setRelease(sequence);
+  }
+
+  /**
+   * Waits until every stage has processed every published event, then stops the stage threads.
+   */
+  @Override
+  public void close() {
+    Sequence[] gate = gating;
+    if (gate == null || !running) {
+      return;
+    }
+    long last = cursor.getAcquire();
+    int attempt = 0;
+    while (minimum(gate) < last) {
+      waitStrategy.idle(attempt++);
+    }
+    running = false;
+    for (Stage<E> stage : stages) {
+      try {
+        stage.thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private static long minimum(Sequence[] sequences) {
+    long min = Long.MAX_VALUE;
+    for (Sequence sequence : sequences) {
+      min = Math.min(min, sequence.getAcquire());
+    }
+    return min;
+  }
+
+  /**
+   * Consumer stage, running its handler on its own thread. The thread is owned by the pipeline, which starts
+   * and stops it.
+   *
+   * @param <E> the type of the events
+   */
+  public static final class Stage<E> {
+    private final EventPipeline<E> pipeline;
+    private final Handler<E> handler;
+    private final Sequence[] barrier;
+    private final Sequence sequence = new Sequence();
+    private final Thread thread;
+    private boolean hasDependents = false;
+
+    private Stage(EventPipeline<E> pipeline, Handler<E> handler, Sequence[] barrier, int index) {
+      this.pipeline = pipeline;
+      this.handler = handler;
+      this.barrier = barrier;
+      thread = new Thread(this::run, "pipeline-stage-" + index);
+      thread.setDaemon(true);
+    }
+
+    private EventPipeline<E> pipeline() {
+      return pipeline;
+    }
+
+    /**
+     * Returns the sequence of the last event this stage has processed.
+     *
+     * @return the stage sequence
+     */
+    public long processed() {
+      return sequence.getAcquire();
+    }
+
+    private void run() {
+      long next = sequence.getAcquire() + 1;
+      while (true) {
+        long available;
+        int attempt = 0;
+        while ((available = minimum(barrier)) < next) {
+          if (!pipeline.running) {
+            return;
+          }
+          pipeline.waitStrategy.idle(attempt++);
+        }
+        for (long s = next; s <= available; s++) {
+          try {
+            handler.onEvent(pipeline.get(s), s, s == available);
+          } catch (Throwable e) {
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+          }
+        }
+        sequence.setRelease(available);
+        next = available + 1;
+      }
+    }
+  }
+
+  /**
+   * Padding before the value of a {@link Sequence}.
+   */
+  abstract static class SequencePad {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+  }
+
+  /**
+   * The value of a {@link Sequence}.
+   */
+  abstract static class SequenceValue extends SequencePad {
+    volatile long value;
+  }
+
+  /**
+   * Position of the producer or of a stage, alone on its cache line so that parties polling different
+   * sequences do not slow each other down. Written with release semantics by its single owner.
+   */
+  static final class Sequence extends SequenceValue {
+    static final long INITIAL = -1;
+    private static final VarHandle VALUE;
+
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    static {
+      try {
+        VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
+    Sequence() {
+      value = INITIAL;
+    }
+
+    long getAcquire() {
+      return (long) VALUE.getAcquire(this);
+    }
+
+    void setRelease(long sequence) {
+      VALUE.setRelease(this, sequence);
+    }
+  }
+
+  /**
+   * Mutable event used by the benchmark.
+   */
+  static final class LongEvent {
+    long value;
+    long doubled;
+  }
+
+  /**
+   * Pushes events through a diamond of three stages, two in parallel and one after both, once per wait
+   * strategy, and through a single {@link ArrayBlockingQueue} handoff for comparison, printing events per second.
+   * Busy spinning is skipped when there are fewer processors than threads, where it would only starve them.
+   *
+   * @param args optional number of events, 20,000,000 by default
+   * @throws InterruptedException if interrupted while waiting for the consumers
+   */
+  public static void main(String[] args) throws InterruptedException {
+    long count = (args.length > 0) ? Long.parseLong(args[0]) : 20_000_000L;
+    int processors = Runtime.getRuntime().availableProcessors();
+    for (WaitStrategy strategy : WaitStrategy.values()) {
+      if (strategy == WaitStrategy.BUSY_SPIN && processors < 4) {
+        continue;
+      }
+      long[] sums = new long[2];
+      // Timed around the whole block, so closing, which drains every stage, is included
+      long start = System.nanoTime();
+      try (EventPipeline<LongEvent> pipeline = new EventPipeline<>(1 << 16, LongEvent::new, strategy)) {
+        Stage<LongEvent> doubler = pipeline.handleWith((event, sequence, end) -> event.doubled = event.value * 2);
+        Stage<LongEvent> summer = pipeline.handleWith((event, sequence, end) -> sums[0] += event.value);
+        pipeline.handleWith((event, sequence, end) -> sums[1] += event.doubled, doubler, summer);
+        pipeline.start();
+        for (long i = 0; i < count; i++) {
+          long sequence = pipeline.next();
+          pipeline.get(sequence).value = i;
+          pipeline.publish(sequence);
+        }
+      }
+      report("pipeline, " + strategy, count, System.nanoTime() - start);
+      if (sums[1] != 2 * sums[0]) {
+        throw new IllegalStateException("Stages saw different events: " + sums[0] + " vs " + sums[1]);
+      }
+    }
+
+    BlockingQueue<Long> queue = new ArrayBlockingQueue<>(1 << 16);
+    long[] sum = new long[1];
+    Thread consumer = new Thread(() -> {
+      try {
+        for (long i = 0; i < count; i++) {
+          sum[0] += queue.take();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    consumer.start();
+    long start = System.nanoTime();
+    for (long i = 0; i < count; i++) {
+      queue.put(i);
+    }
+    consumer.join();
+    report("ArrayBlockingQueue", count, System.nanoTime() - start);
+  }
+
+  private static void report(String mode, long events, long elapsed) {
+    System.out.printf("%-24s %8d ms %12d events/sec%n", mode, TimeUnit.NANOSECONDS.toMillis(elapsed),
+        events * 1_000_000_000L / Math.max(1, elapsed));
+  }
+}
@@ -1,33 +1,33 @@
 package org.example.multiThreading;
 
-class Counter {
-  private int count = 0; // shared resource
-
-  public synchronized void increment() {
-    count++;
-  }
-
-  public int getCount() {
-    return count;
-  }
-}
-
 public class SynchronisationExample extends Thread {
   private Counter counter;
+  private final int increments;
 
   public SynchronisationExample(Counter counter) {
+    this(counter, 1000);
+  }
+
+  /**
+   * Creates a thread that increments the counter the given number of times.
+   *
+   * @param counter    the shared counter
+   * @param increments how many times {@link #run()} increments it
+   */
+  public SynchronisationExample(Counter counter, int increments) {
     this.counter = counter;
+    this.increments = increments;
   }
 
   @Override
   public void run() {
-    for (int i = 0; i < 1000; i++) {
+    for (int i = 0; i < increments; i++) {
       counter.increment();
     }
   }
 
   public static void main(String[] args) {
-    Counter counter = new Counter();
+    Counter counter = new Counter.Synchronized();
     SynchronisationExample t1 = new SynchronisationExample(counter);
     SynchronisationExample t2 = new SynchronisationExample(counter);
     t1.start();
@@ -1,5 +1,9 @@
 package org.example.multiThreading;
 
+/**
+ * Thread priorities are only hints that most operating systems ignore. For priorities that decide which
+ * task runs next, see {@link org.example.multiThreading.executer.WorkStealingScheduler}.
+ */
 public class ThreadPriority extends Thread{
   public ThreadPriority(String name){
     super(name);
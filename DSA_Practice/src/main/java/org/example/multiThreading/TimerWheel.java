@@ -0,0 +1,405 @@
+package org.example.multiThreading;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Scheduler for delayed and periodic housekeeping jobs, such as cache expiry and flushes, on a hierarchical
+ * timing wheel driven by one daemon thread.
+ *
+ * <p>{@link java.util.concurrent.ScheduledThreadPoolExecutor} keeps its timers in a heap, so every schedule and
+ * cancel costs O(log n), and with millions of timers that adds up. Here time is cut into ticks, and a wheel of
+ * {@code wheelSize} buckets holds the timers due in each of the next {@code wheelSize} ticks. Timers further
+ * out go into coarser wheels, each bucket of which spans a whole turn of the wheel below, and are moved down a
+ * level when their bucket comes around. Scheduling and cancelling only append a node to a queue, and the wheel
+ * thread links or unlinks it in O(1); the price is that a timer fires up to one tick late.
+ *
+ * <p>Like {@link DaemonThread}, the wheel thread does not keep the JVM alive. Jobs run on the wheel thread
+ * unless an {@link Executor} is given, so they should be short.
+ */
+public final class TimerWheel implements AutoCloseable {
+  private final long tickNanos;
+  private final int bits;
+  private final int mask;
+  private final Bucket[][] wheels;
+  private final Executor executor;
+  private final long startNanos = System.nanoTime();
+  private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+  private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+  private final AtomicLong pending = new AtomicLong();
+  private final Thread worker;
+  private volatile boolean closed = false;
+  private long currentTick = 0;
+
+  /**
+   * Creates a wheel with a 10 ms tick and four levels of 512 buckets, which covers over two years.
+   */
+  public TimerWheel() {
+    this(Duration.ofMillis(10), 512, 4, Runnable::run);
+  }
+
+  /**
+   * Creates a wheel and starts its thread.
+   *
+   * @param tick      the resolution; timers fire up to this much late
+   * @param wheelSize the buckets per level, rounded up to a power of two
+   * @param levels    the number of wheels; {@code tick * wheelSize^levels} is the horizon beyond which timers
+   *                  are re-filed once per turn of the top wheel
+   * @param executor  runs the jobs, or {@code Runnable::run} to run them on the wheel thread
+   */
+  public TimerWheel(Duration tick, int wheelSize, int levels, Executor executor) {
+    if (tick.isNegative() || tick.isZero()) {
+      throw new IllegalArgumentException("Tick must be positive.");
+    }
+    if (wheelSize < 2 || wheelSize > 1 << 16) {
+      throw new IllegalArgumentException("Wheel size must be between 2 and 2^16.");
+    }
+    if (levels < 1) {
+      throw new IllegalArgumentException("Levels must be greater than 0.");
+    }
+    int size = Integer.highestOneBit(wheelSize);
+    if (size < wheelSize) {
+      size <<= 1;
+    }
+    this.bits = Integer.numberOfTrailingZeros(size);
+    if ((long) bits * levels > Long.SIZE - 2) {
+      throw new IllegalArgumentException("Wheel size and levels span more than 62 bits of ticks.");
+    }
+    this.tickNanos = tick.toNanos();
+    this.mask = size - 1;
+    this.executor = executor;
+    wheels = new Bucket[levels][size];
+    for (Bucket[] wheel : wheels) {
+      for (int i = 0; i < size; i++) {
+        wheel[i] = new Bucket();
+      }
+    }
+    worker = new Thread(this::run, "timer-wheel");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Runs a job once after a delay.
+   *
+   * @param job   the job
+   * @param delay how long to wait
+   * @return a handle to cancel the job
+   */
+  public Timeout schedule(Runnable job, Duration delay) {
+    return add(new Timeout(this, job, deadline(delay), 0));
+  }
+
+  /**
+   * Runs a job after a delay and then every period, measured from the scheduled times rather than from when
+   * each run finished.
+   *
+   * @param job          the job
+   * @param initialDelay how long to wait for the first run
+   * @param period       the time between runs, rounded up to whole ticks so no run comes early
+   * @return a handle to cancel all further runs
+   */
+  public Timeout scheduleAtFixedRate(Runnable job, Duration initialDelay, Duration period) {
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("Period must be positive.");
+    }
+    long periodTicks = (period.toNanos() + tickNanos - 1) / tickNanos;
+    return add(new Timeout(this, job, deadline(initialDelay), periodTicks));
+  }
+
+  /**
+   * Returns the number of timers that have been scheduled and have neither fired nor been cancelled. A
+   * periodic timer counts until it is cancelled.
+   *
+   * @return the number of pending timers
+   */
+  public long pending() {
+    return pending.get();
+  }
+
+  /**
+   * Stops the wheel thread. Timers that have not fired are dropped.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(worker);
+    try {
+      worker.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private Timeout add(Timeout timeout) {
+    if (timeout.job == null) {
+      throw new NullPointerException("Job must not be null.");
+    }
+    if (closed) {
+      throw new IllegalStateException("Timer wheel is closed");
+    }
+    pending.incrementAndGet();
+    added.add(timeout);
+    return timeout;
+  }
+
+  private long deadline(Duration delay) {
+    long elapsed = System.nanoTime() - startNanos + Math.max(0, delay.toNanos());
+    return (elapsed + tickNanos - 1) / tickNanos;   // round up, so a timer never fires early
+  }
+
+  private void run() {
+    while (!closed) {
+      long now = (System.nanoTime() - startNanos) / tickNanos;
+      while (currentTick <= now && !closed) {
+        advance();
+        currentTick++;
+      }
+      long sleep = startNanos + currentTick * tickNanos - System.nanoTime();
+      if (sleep > 0) {
+        LockSupport.parkNanos(this, sleep);
+      }
+    }
+  }
+
+  /**
+   * Processes {@link #currentTick}: cascades the coarser buckets that start here, files new timers, unlinks
+   * cancelled ones and fires the bucket of this tick.
+   */
+  private void advance() {
+    for (int level = 1; level < wheels.length; level++) {
+      if ((currentTick & ((1L << (bits * level)) - 1)) != 0) {
+        break;
+      }
+      Bucket bucket = wheels[level][(int) (currentTick >>> (bits * level)) & mask];
+      Timeout timeout;
+      while ((timeout = bucket.poll()) != null) {
+        if (timeout.state.get() == Timeout.WAITING) {
+          place(timeout);
+        }
+      }
+    }
+    Timeout timeout;
+    while ((timeout = added.poll()) != null) {
+      if (timeout.state.get() == Timeout.WAITING) {
+        place(timeout);
+      }
+    }
+    while ((timeout = cancelled.poll()) != null) {
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+    }
+    Bucket due = wheels[0][(int) currentTick & mask];
+    while ((timeout = due.poll()) != null) {
+      fire(timeout);
+    }
+  }
+
+  private void place(Timeout timeout) {
+    long delta = timeout.deadline - currentTick;
+    if (delta <= 0) {
+      wheels[0][(int) currentTick & mask].add(timeout);
+      return;
+    }
+    int level = 0;
+    while (level < wheels.length - 1 && delta >= 1L << (bits * (level + 1))) {
+      level++;
+    }
+    // Beyond the horizon: file it in the furthest top bucket; it is re-filed when that bucket comes around
+    long tick = Math.min(timeout.deadline, currentTick + (1L << (bits * (level + 1))) - 1);
+    wheels[level][(int) (tick >>> (bits * level)) & mask].add(timeout);
+  }
+
+  private void fire(Timeout timeout) {
+    boolean periodic = timeout.periodTicks > 0;
+    if (!periodic && !timeout.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+      return;
+    }
+    if (periodic && timeout.state.get() != Timeout.WAITING) {
+      return;
+    }
+    if (periodic) {
+      timeout.deadline += timeout.periodTicks;
+      place(timeout);
+    } else {
+      pending.decrementAndGet();
+    }
+    try {
+      executor.execute(timeout.job);
+    } catch (Throwable e) {
+      worker.getUncaughtExceptionHandler().uncaughtException(worker, e);
+    }
+  }
+
+  /**
+   * Handle to a scheduled job.
+   */
+  public static final class Timeout {
+    private static final int WAITING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final TimerWheel wheel;
+    private final Runnable job;
+    private final long periodTicks;
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+    private long deadline;
+
+    // Bucket links, only touched by the wheel thread
+    private Bucket bucket;
+    private Timeout prev;
+    private Timeout next;
+
+    private Timeout(TimerWheel wheel, Runnable job, long deadline, long periodTicks) {
+      this.wheel = wheel;
+      this.job = job;
+      this.deadline = deadline;
+      this.periodTicks = periodTicks;
+    }
+
+    /**
+     * Cancels the job. A job that is already running is not interrupted.
+     *
+     * @return {@code true} if this call cancelled it, {@code false} if it had already fired or been cancelled
+     */
+    public boolean cancel() {
+      if (!state.compareAndSet(WAITING, CANCELLED)) {
+        return false;
+      }
+      wheel.pending.decrementAndGet();
+      wheel.cancelled.add(this);
+      return true;
+    }
+
+    /**
+     * Checks if the job was cancelled.
+     *
+     * @return {@code true} if cancelled
+     */
+    public boolean isCancelled() {
+      return state.get() == CANCELLED;
+    }
+
+    /**
+     * Checks if a one-off job has been handed to the executor.
+     *
+     * @return {@code true} if fired
+     */
+    public boolean isExpired() {
+      return state.get() == EXPIRED;
+    }
+  }
+
+  /**
+   * Doubly linked list of the timers in one slot of a wheel.
+   */
+  private static final class Bucket {
+    private Timeout head;
+    private Timeout tail;
+
+    void add(Timeout timeout) {
+      timeout.bucket = this;
+      timeout.prev = tail;
+      timeout.next = null;
+      if (tail == null) {
+        head = timeout;
+      } else {
+        tail.next = timeout;
+      }
+      tail = timeout;
+    }
+
+    void remove(Timeout timeout) {
+      if (timeout.prev == null) {
+        head = timeout.next;
+      } else {
+        timeout.prev.next = timeout.next;
+      }
+      if (timeout.next == null) {
+        tail = timeout.prev;
+      } else {
+        timeout.next.prev = timeout.prev;
+      }
+      timeout.bucket = null;
+      timeout.prev = null;
+      timeout.next = null;
+    }
+
+    Timeout poll() {
+      Timeout timeout = head;
+      if (timeout != null) {
+        remove(timeout);
+      }
+      return timeout;
+    }
+  }
+
+  /**
+   * Schedules a million cache-expiry timers up to two seconds out and cancels half of them, on the wheel and
+   * on a {@link ScheduledExecutorService}, printing the cost of each and how many timers fired. A periodic
+   * flush prints along the way.
+   *
+   * @param args optional number of timers, 1,000,000 by default
+   * @throws InterruptedException if interrupted while waiting for the timers
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int count = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+    long[] delays = new long[count];
+    for (int i = 0; i < count; i++) {
+      delays[i] = ThreadLocalRandom.current().nextLong(10, 2_000);
+    }
+
+    LongAdder fired = new LongAdder();
+    Runnable expire = fired::increment;
+    try (TimerWheel wheel = new TimerWheel()) {
+      Timeout flush = wheel.scheduleAtFixedRate(() -> System.out.println("flush, " + wheel.pending() + " pending"),
+          Duration.ofMillis(500), Duration.ofMillis(500));
+      Timeout[] timeouts = new Timeout[count];
+      long start = System.nanoTime();
+      for (int i = 0; i < count; i++) {
+        timeouts[i] = wheel.schedule(expire, Duration.ofMillis(delays[i]));
+      }
+      for (int i = 0; i < count; i += 2) {
+        timeouts[i].cancel();
+      }
+      report("timer wheel", count, System.nanoTime() - start);
+      Thread.sleep(2_200);
+      flush.cancel();
+      System.out.println("timer wheel fired " + fired.sum() + ", " + wheel.pending() + " pending");
+    }
+
+    fired.reset();
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    List<ScheduledFuture<?>> futures = new ArrayList<>(count);
+    long start = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      futures.add(executor.schedule(expire, delays[i], TimeUnit.MILLISECONDS));
+    }
+    for (int i = 0; i < count; i += 2) {
+      futures.get(i).cancel(false);
+    }
+    report("scheduled executor", count, System.nanoTime() - start);
+    Thread.sleep(2_200);
+    executor.shutdownNow();
+    System.out.println("scheduled executor fired " + fired.sum());
+  }
+
+  private static void report(String mode, int timers, long elapsed) {
+    System.out.printf("%-20s schedule + cancel half of %d timers: %d ms%n", mode, timers,
+        TimeUnit.NANOSECONDS.toMillis(elapsed));
+  }
+}
@@ -0,0 +1,278 @@
+package org.example.multiThreading.executer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread pool that sizes itself from what it observes instead of from a hard-coded thread count.
+ *
+ * <p>Each task records its wall time and the CPU time of its thread, so the pool knows which fraction of
+ * the workers' time is spent blocked. From that the usual sizing rule gives a target,
+ * {@code processors / (1 - blockedRatio)}: CPU-bound tasks want about one thread per processor, tasks that
+ * mostly wait on I/O want many more. Every sampling interval a controller thread compares the throughput
+ * with the previous interval and climbs: it keeps moving the pool size in the same direction while
+ * throughput improves, turns around when it drops, and heads for the target when nothing changes. It
+ * shrinks the pool when there is nothing queued, and never leaves {@code [minThreads, maxThreads]}.
+ *
+ * <p>Measuring CPU time costs a few hundred nanoseconds per task, which is noise for tasks that block but
+ * not for tasks that take a microsecond; those are better served by {@link BatchingExecutor}. The pool does not
+ * change JVM-wide settings: if thread CPU time is unsupported or disabled in {@link ThreadMXBean}, tasks are
+ * timed by wall time only, the blocked ratio is unknown, and the size follows throughput alone, holding still
+ * when it stops changing.
+ */
+public final class AdaptiveThreadPool extends AbstractExecutorService {
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final double TOLERANCE = 0.05;
+
+  private final ThreadPoolExecutor pool;
+  private final ScheduledExecutorService controller;
+  private final int minThreads;
+  private final int maxThreads;
+  private final int processors = Runtime.getRuntime().availableProcessors();
+  private final boolean cpuTimed = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder wallNanos = new LongAdder();
+  private final LongAdder cpuNanos = new LongAdder();
+
+  // Controller state, only touched by the controller thread
+  private long lastCompleted = 0;
+  private long lastWall = 0;
+  private long lastCpu = 0;
+  private long lastSample = System.nanoTime();
+  private double lastThroughput = 0;
+  private int direction = 1;   // always +1 or -1
+  private volatile double blockedRatio = 0;
+  private volatile double throughput = 0;
+
+  /**
+   * Creates a pool that adapts between one thread and a hundred per processor, sampling once a second.
+   */
+  public AdaptiveThreadPool() {
+    this(1, 100 * Runtime.getRuntime().availableProcessors(), Duration.ofSeconds(1));
+  }
+
+  /**
+   * Creates a pool that starts with one thread per processor, within the bounds.
+   *
+   * @param minThreads the smallest pool size
+   * @param maxThreads the largest pool size
+   * @param interval   how often throughput is sampled and the size adjusted
+   */
+  public AdaptiveThreadPool(int minThreads, int maxThreads, Duration interval) {
+    if (minThreads < 1 || maxThreads < minThreads) {
+      throw new IllegalArgumentException("Thread bounds must satisfy 1 <= min <= max.");
+    }
+    if (interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("Sampling interval must be positive.");
+    }
+    this.minThreads = minThreads;
+    this.maxThreads = maxThreads;
+    int initial = clamp(processors);
+    pool = new ThreadPoolExecutor(initial, initial, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    controller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "pool-sizer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long period = interval.toNanos();
+    controller.scheduleAtFixedRate(this::adjust, period, period, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    if (task == null) {
+      throw new NullPointerException("Task must not be null.");
+    }
+    if (!cpuTimed) {
+      pool.execute(() -> {
+        try {
+          task.run();
+        } finally {
+          completed.increment();
+        }
+      });
+      return;
+    }
+    pool.execute(() -> {
+      long cpuStart = THREADS.getCurrentThreadCpuTime();
+      long wallStart = System.nanoTime();
+      try {
+        task.run();
+      } finally {
+        wallNanos.add(System.nanoTime() - wallStart);
+        cpuNanos.add(THREADS.getCurrentThreadCpuTime() - cpuStart);
+        completed.increment();
+      }
+    });
+  }
+
+  /**
+   * Returns the current number of worker threads the pool aims for.
+   *
+   * @return the pool size
+   */
+  public int poolSize() {
+    return pool.getMaximumPoolSize();
+  }
+
+  /**
+   * Returns the fraction of task time spent blocked rather than on the CPU, over the last interval.
+   *
+   * @return the blocked ratio, between 0 and 1, or 0 if thread CPU time is not available
+   */
+  public double blockedRatio() {
+    return blockedRatio;
+  }
+
+  /**
+   * Returns the tasks completed per second over the last interval.
+   *
+   * @return the throughput
+   */
+  public double throughput() {
+    return throughput;
+  }
+
+  @Override
+  public void shutdown() {
+    controller.shutdownNow();
+    pool.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    controller.shutdownNow();
+    return pool.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return pool.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return pool.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return pool.awaitTermination(timeout, unit);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d threads, %.0f tasks/sec, %.0f%% blocked", poolSize(), throughput,
+        100 * blockedRatio);
+  }
+
+  /**
+   * One step of the hill climb, run by the controller thread.
+   */
+  private void adjust() {
+    long now = System.nanoTime();
+    long done = completed.sum();
+    long wall = wallNanos.sum();
+    long cpu = cpuNanos.sum();
+    long tasks = done - lastCompleted;
+    long wallDelta = wall - lastWall;
+    throughput = tasks * 1e9 / Math.max(1, now - lastSample);
+    if (wallDelta > 0) {
+      blockedRatio = Math.min(1, Math.max(0, 1 - (double) (cpu - lastCpu) / wallDelta));
+    }
+    lastCompleted = done;
+    lastWall = wall;
+    lastCpu = cpu;
+    lastSample = now;
+
+    int size = poolSize();
+    int step = Math.max(1, size / 8);
+    if (pool.getQueue().isEmpty()) {
+      // Nothing waiting: more threads cannot help, and idle ones only cost memory
+      int busy = pool.getActiveCount();
+      if (busy < size) {
+        resize(Math.max(busy + 1, size - step));
+      }
+      lastThroughput = throughput;
+      return;
+    }
+    if (throughput > lastThroughput * (1 + TOLERANCE)) {
+      // The last move helped; keep going
+    } else if (throughput < lastThroughput * (1 - TOLERANCE)) {
+      direction = -direction;
+    } else if (!cpuTimed) {
+      lastThroughput = throughput;
+      return;   // no blocked ratio to aim for; hold the size until throughput moves
+    } else {
+      int target = clamp((int) Math.ceil(processors / Math.max(0.01, 1 - blockedRatio)));
+      if (target == size) {
+        lastThroughput = throughput;
+        return;   // at the target; hold the size but keep a direction for the next move
+      }
+      direction = (target > size) ? 1 : -1;
+    }
+    lastThroughput = throughput;
+    resize(size + direction * step);
+  }
+
+  private void resize(int size) {
+    int next = clamp(size);
+    int current = poolSize();
+    // The core size may never exceed the maximum, so the order of the two calls depends on the direction
+    if (next > current) {
+      pool.setMaximumPoolSize(next);
+      pool.setCorePoolSize(next);
+    } else if (next < current) {
+      pool.setCorePoolSize(next);
+      pool.setMaximumPoolSize(next);
+    }
+  }
+
+  private int clamp(int size) {
+    return Math.max(minThreads, Math.min(maxThreads, size));
+  }
+
+  /**
+   * Feeds the pool a CPU-bound and then a blocking workload and prints how the size follows each.
+   *
+   * @param args optional duration of each phase in seconds, 6 by default
+   * @throws InterruptedException if interrupted while running the phases
+   */
+  public static void main(String[] args) throws InterruptedException {
+    long seconds = (args.length > 0) ? Long.parseLong(args[0]) : 6;
+    AdaptiveThreadPool pool = new AdaptiveThreadPool(1, 512, Duration.ofMillis(250));
+    Runnable cpuBound = () -> {
+      double x = 0;
+      for (int i = 0; i < 200_000; i++) {
+        x += Math.sqrt(i);
+      }
+      if (x < 0) {
+        System.out.println(x);
+      }
+    };
+    Runnable blocking = new Task("io", Duration.ofMillis(5));
+    for (Runnable task : new Runnable[]{cpuBound, blocking}) {
+      long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+      while (System.nanoTime() < end) {
+        // Keep the queue topped up so the pool always has work to scale for
+        while (pool.pool.getQueue().size() < 10_000) {
+          pool.execute(task);
+        }
+        Thread.sleep(500);
+        System.out.println((task == cpuBound ? "cpu-bound : " : "blocking  : ") + pool);
+      }
+      pool.pool.getQueue().clear();
+    }
+    pool.shutdown();
+    pool.awaitTermination(1, TimeUnit.MINUTES);
+  }
+}
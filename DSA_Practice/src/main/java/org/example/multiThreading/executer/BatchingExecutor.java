@@ -0,0 +1,230 @@
+package org.example.multiThreading.executer;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Front end that collects submitted tasks into batches and hands each batch to a downstream executor as a
+ * single task.
+ *
+ * <p>When tasks take well under a microsecond, submitting them one by one spends more time in the
+ * executor's queue than in the tasks. Here a submit only appends to an array; the downstream queue is touched
+ * once per batch. A batch is handed over as soon as it holds {@code maxBatchSize} tasks, or {@code maxLinger}
+ * after its first task arrived, whichever comes first, so a slow trickle of tasks is still delayed by at most
+ * the linger time.
+ *
+ * <p>{@link #submit(Runnable)} returns the future of the batch the task joined. It completes when every task of
+ * the batch has run, or exceptionally with the first failure; the other tasks of the batch still run. If the
+ * downstream executor rejects a batch, none of its tasks run and its future completes with the
+ * {@link RejectedExecutionException}.
+ */
+public class BatchingExecutor implements Executor, AutoCloseable {
+  private final Executor downstream;
+  private final int maxBatchSize;
+  private final long lingerNanos;
+  private final ScheduledExecutorService timer;
+
+  private Batch current;
+  private boolean closed = false;
+
+  /**
+   * Creates a batching front end.
+   *
+   * @param downstream   the executor that runs the batches
+   * @param maxBatchSize the number of tasks that makes a batch full
+   * @param maxLinger    how long a batch may wait for more tasks after its first one
+   */
+  public BatchingExecutor(Executor downstream, int maxBatchSize, Duration maxLinger) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be greater than 0.");
+    }
+    if (maxLinger.isNegative() || maxLinger.isZero()) {
+      throw new IllegalArgumentException("Linger time must be positive.");
+    }
+    this.downstream = downstream;
+    this.maxBatchSize = maxBatchSize;
+    this.lingerNanos = maxLinger.toNanos();
+    this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "batch-linger");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Adds a task to the current batch.
+   *
+   * @param task the task to run
+   */
+  @Override
+  public void execute(Runnable task) {
+    submit(task);
+  }
+
+  /**
+   * Adds a task to the current batch.
+   *
+   * @param task the task to run
+   * @return the future of the batch the task joined
+   * @throws IllegalStateException      if the executor has been closed
+   * @throws RejectedExecutionException if the task filled its batch and the downstream executor rejected it
+   */
+  public CompletableFuture<Void> submit(Runnable task) {
+    if (task == null) {
+      throw new NullPointerException("Task must not be null.");
+    }
+    Batch full = null;
+    CompletableFuture<Void> future;
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Executor is closed");
+      }
+      if (current == null) {
+        Batch started = new Batch(maxBatchSize);
+        current = started;
+        // Scheduled under the lock close() takes to stop the timer, so the timer is still running here
+        timer.schedule(() -> flush(started), lingerNanos, TimeUnit.NANOSECONDS);
+      }
+      future = current.done;
+      current.tasks[current.size++] = task;
+      if (current.size == maxBatchSize) {
+        full = current;
+        current = null;
+      }
+    }
+    // The hand-off happens outside the lock, so other submitters are not held up by the downstream queue
+    if (full != null) {
+      handOff(full);
+    }
+    return future;
+  }
+
+  /**
+   * Hands the current batch to the downstream executor without waiting for it to fill up.
+   *
+   * @throws RejectedExecutionException if the downstream executor rejects the batch
+   */
+  public void flush() {
+    Batch batch;
+    synchronized (this) {
+      batch = current;
+      current = null;
+    }
+    if (batch != null) {
+      handOff(batch);
+    }
+  }
+
+  /**
+   * Flushes the current batch and stops accepting tasks. The downstream executor is left running.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+      timer.shutdownNow();
+    }
+    flush();
+  }
+
+  private void flush(Batch expected) {
+    synchronized (this) {
+      if (current != expected) {
+        return;   // already handed over because it filled up, or by an explicit flush
+      }
+      current = null;
+    }
+    handOff(expected);
+  }
+
+  private void handOff(Batch batch) {
+    try {
+      downstream.execute(batch);
+    } catch (RejectedExecutionException e) {
+      batch.done.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Tasks handed over together, run in submission order.
+   */
+  private static final class Batch implements Runnable {
+    private final Runnable[] tasks;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private int size = 0;
+
+    Batch(int capacity) {
+      tasks = new Runnable[capacity];
+    }
+
+    @Override
+    public void run() {
+      Throwable failure = null;
+      for (int i = 0; i < size; i++) {
+        try {
+          tasks[i].run();
+        } catch (Throwable e) {
+          if (failure == null) {
+            failure = e;
+          }
+        }
+        tasks[i] = null;
+      }
+      if (failure == null) {
+        done.complete(null);
+      } else {
+        done.completeExceptionally(failure);
+      }
+    }
+  }
+
+  /**
+   * Runs five million tiny tasks on a fixed pool, once submitted one by one and once through a
+   * batching front end, and prints the throughput of each.
+   *
+   * @param args optional number of tasks, 5,000,000 by default
+   * @throws Exception if a task fails
+   */
+  public static void main(String[] args) throws Exception {
+    int tasks = (args.length > 0) ? Integer.parseInt(args[0]) : 5_000_000;
+    int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    LongAdder counter = new LongAdder();
+    Runnable task = counter::increment;
+
+    for (int round = 0; round < 2; round++) {
+      ExecutorService pool = Executors.newFixedThreadPool(threads);
+      long start = System.nanoTime();
+      for (int i = 0; i < tasks; i++) {
+        pool.execute(task);
+      }
+      pool.close();
+      report("one by one", tasks, System.nanoTime() - start);
+
+      pool = Executors.newFixedThreadPool(threads);
+      start = System.nanoTime();
+      CompletableFuture<Void> last = null;
+      try (BatchingExecutor batching = new BatchingExecutor(pool, 1024, Duration.ofMillis(1))) {
+        for (int i = 0; i < tasks; i++) {
+          last = batching.submit(task);
+        }
+      }
+      last.get();
+      pool.close();
+      report("batches of 1024", tasks, System.nanoTime() - start);
+    }
+    System.out.println("Tasks run : " + counter.sum());
+  }
+
+  private static void report(String mode, int tasks, long elapsed) {
+    System.out.printf("%-16s %8d ms %12d tasks/sec%n", mode,
+        TimeUnit.NANOSECONDS.toMillis(elapsed), tasks * 1_000_000_000L / elapsed);
+  }
+}
@@ -1,12 +1,18 @@
 package org.example.multiThreading.executer;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class ExecutorExample2 {
 
-  public static void main(String[] args) {
-    ExecutorService executorService =Executors.newFixedThreadPool(9);
+  public static void main(String[] args) throws InterruptedException {
+    // Sizes itself from the host and the workload instead of a fixed 9 threads
+    ExecutorService executorService = new AdaptiveThreadPool();
+    for (int i = 1; i <= 9; i++) {
+      executorService.execute(new Task("Task " + i));
+    }
+    executorService.shutdown();
+    executorService.awaitTermination(1, TimeUnit.MINUTES);
   }
 
 }
@@ -0,0 +1,422 @@
+package org.example.multiThreading.executer;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * {@link ExecutorService} wrapper that measures where the time of each task goes.
+ *
+ * <p>Every task is stamped when it is submitted and again when a worker picks it up, so its latency splits
+ * into time spent waiting in the queue and time spent running; both go into a {@link LatencyHistogram}.
+ * Submitted, started, completed and rejected tasks, and tasks drained by {@link #shutdownNow()}, are counted
+ * on {@link LongAdder}s, from which the number of queued tasks and of busy workers follow. A rising queue wait with a flat run time means the pool is too
+ * small; a rising run time means the tasks themselves got slower.
+ *
+ * <p>{@link #metrics()} returns a snapshot, and {@link #registerMBean()} publishes the same numbers over JMX.
+ * The number of idle workers is only known when the wrapped executor is a {@link ThreadPoolExecutor}, as
+ * the ones from {@link Executors#newFixedThreadPool(int)} are. Rejections are counted when the wrapped
+ * executor throws {@link RejectedExecutionException}; a policy that silently discards or runs the task on the
+ * caller is not seen.
+ */
+public class InstrumentedExecutor extends AbstractExecutorService {
+  private final ExecutorService delegate;
+  private final String name;
+  private final LatencyHistogram queueWait = new LatencyHistogram();
+  private final LatencyHistogram runTime = new LatencyHistogram();
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder started = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder drained = new LongAdder();
+  private ObjectName objectName;
+
+  /**
+   * Wraps an executor.
+   *
+   * @param name     the name shown in the metrics and the MBean
+   * @param delegate the executor that runs the tasks
+   */
+  public InstrumentedExecutor(String name, ExecutorService delegate) {
+    if (delegate == null) {
+      throw new NullPointerException("Delegate must not be null.");
+    }
+    this.name = name;
+    this.delegate = delegate;
+  }
+
+  /**
+   * Creates an instrumented fixed pool.
+   *
+   * @param name    the name shown in the metrics and the MBean
+   * @param threads the number of worker threads
+   * @return the instrumented pool
+   */
+  public static InstrumentedExecutor fixedPool(String name, int threads) {
+    return new InstrumentedExecutor(name, Executors.newFixedThreadPool(threads));
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    if (task == null) {
+      throw new NullPointerException("Task must not be null.");
+    }
+    submitted.increment();
+    try {
+      delegate.execute(new Timed(task, System.nanoTime()));
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the current counters and latency distributions. The values are read one after another while
+   * tasks may still be running, so they are only approximately consistent with each other.
+   *
+   * @return a snapshot of the executor metrics
+   */
+  public Metrics metrics() {
+    int active = activeWorkers();
+    return new Metrics(name, submitted.sum(), completed.sum(), rejected.sum(), queuedTasks(), active,
+        idleWorkers(active), queueWait.snapshot(), runTime.snapshot());
+  }
+
+  /**
+   * Registers this executor with the platform MBean server, under
+   * {@code org.example.multiThreading.executer:type=InstrumentedExecutor,name=<name>}. It is unregistered
+   * again on shutdown.
+   *
+   * @return the name the MBean was registered under
+   * @throws IllegalStateException if the MBean cannot be registered, for example because the name is taken
+   */
+  public synchronized ObjectName registerMBean() {
+    if (objectName != null) {
+      return objectName;
+    }
+    try {
+      ObjectName candidate = new ObjectName("org.example.multiThreading.executer:type=InstrumentedExecutor,name="
+          + ObjectName.quote(name));
+      ManagementFactory.getPlatformMBeanServer().registerMBean(new MBean(), candidate);
+      objectName = candidate;
+      return objectName;
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register MBean for " + name, e);
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    unregisterMBean();
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    unregisterMBean();
+    List<Runnable> pending = new ArrayList<>();
+    for (Runnable runnable : delegate.shutdownNow()) {
+      if (runnable instanceof Timed timed) {
+        drained.increment();
+        pending.add(timed.task);
+      } else {
+        pending.add(runnable);
+      }
+    }
+    return pending;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  private int queuedTasks() {
+    long accepted = submitted.sum() - rejected.sum();
+    // Drained tasks never start, so they would otherwise count as queued forever
+    return (int) Math.max(0, accepted - drained.sum() - started.sum());
+  }
+
+  private int activeWorkers() {
+    // Read completed first, so a task finishing in between cannot make the difference negative
+    long done = completed.sum();
+    return (int) Math.max(0, started.sum() - done);
+  }
+
+  private int idleWorkers(int active) {
+    int poolSize = (delegate instanceof ThreadPoolExecutor pool) ? pool.getPoolSize() : active;
+    return Math.max(0, poolSize - active);
+  }
+
+  private synchronized void unregisterMBean() {
+    if (objectName == null) {
+      return;
+    }
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+    } catch (JMException e) {
+      // Already gone; nothing left to clean up
+    }
+    objectName = null;
+  }
+
+  /**
+   * Task as handed to the wrapped executor, carrying the time it was submitted.
+   */
+  private final class Timed implements Runnable {
+    private final Runnable task;
+    private final long submittedAt;
+
+    Timed(Runnable task, long submittedAt) {
+      this.task = task;
+      this.submittedAt = submittedAt;
+    }
+
+    @Override
+    public void run() {
+      long start = System.nanoTime();
+      queueWait.record(start - submittedAt);
+      started.increment();
+      try {
+        task.run();
+      } finally {
+        runTime.record(System.nanoTime() - start);
+        completed.increment();
+      }
+    }
+  }
+
+  /**
+   * Point-in-time view of an instrumented executor.
+   */
+  public static final class Metrics {
+    private final String name;
+    private final long submitted;
+    private final long completed;
+    private final long rejected;
+    private final int queued;
+    private final int activeWorkers;
+    private final int idleWorkers;
+    private final LatencyHistogram.Snapshot queueWait;
+    private final LatencyHistogram.Snapshot runTime;
+
+    private Metrics(String name, long submitted, long completed, long rejected, int queued, int activeWorkers,
+        int idleWorkers, LatencyHistogram.Snapshot queueWait, LatencyHistogram.Snapshot runTime) {
+      this.name = name;
+      this.submitted = submitted;
+      this.completed = completed;
+      this.rejected = rejected;
+      this.queued = queued;
+      this.activeWorkers = activeWorkers;
+      this.idleWorkers = idleWorkers;
+      this.queueWait = queueWait;
+      this.runTime = runTime;
+    }
+
+    /**
+     * Returns the number of tasks submitted, including rejected ones.
+     *
+     * @return the submitted task count
+     */
+    public long submitted() {
+      return submitted;
+    }
+
+    /**
+     * Returns the number of tasks that have finished running, normally or not.
+     *
+     * @return the completed task count
+     */
+    public long completed() {
+      return completed;
+    }
+
+    /**
+     * Returns the number of tasks the wrapped executor refused.
+     *
+     * @return the rejected task count
+     */
+    public long rejected() {
+      return rejected;
+    }
+
+    /**
+     * Returns the number of accepted tasks that no worker has picked up yet.
+     *
+     * @return the queued task count
+     */
+    public int queued() {
+      return queued;
+    }
+
+    /**
+     * Returns the number of workers running a task.
+     *
+     * @return the active worker count
+     */
+    public int activeWorkers() {
+      return activeWorkers;
+    }
+
+    /**
+     * Returns the number of started workers without a task, or 0 if the wrapped executor does not report
+     * its pool size.
+     *
+     * @return the idle worker count
+     */
+    public int idleWorkers() {
+      return idleWorkers;
+    }
+
+    /**
+     * Returns the distribution of the time tasks spent between submission and start.
+     *
+     * @return the queue wait histogram
+     */
+    public LatencyHistogram.Snapshot queueWait() {
+      return queueWait;
+    }
+
+    /**
+     * Returns the distribution of the time tasks spent running.
+     *
+     * @return the run time histogram
+     */
+    public LatencyHistogram.Snapshot runTime() {
+      return runTime;
+    }
+
+    @Override
+    public String toString() {
+      return name + " : submitted " + submitted + ", completed " + completed + ", rejected " + rejected
+          + ", queued " + queued + ", active " + activeWorkers + ", idle " + idleWorkers
+          + System.lineSeparator() + "  queue wait : " + queueWait
+          + System.lineSeparator() + "  run time   : " + runTime;
+    }
+  }
+
+  /**
+   * Adapter that answers every JMX read from the live counters; only the latency attributes take a histogram
+   * snapshot.
+   */
+  private final class MBean implements InstrumentedExecutorMXBean {
+
+    @Override
+    public long getSubmittedTasks() {
+      return submitted.sum();
+    }
+
+    @Override
+    public long getCompletedTasks() {
+      return completed.sum();
+    }
+
+    @Override
+    public long getRejectedTasks() {
+      return rejected.sum();
+    }
+
+    @Override
+    public int getQueuedTasks() {
+      return queuedTasks();
+    }
+
+    @Override
+    public int getActiveWorkers() {
+      return activeWorkers();
+    }
+
+    @Override
+    public int getIdleWorkers() {
+      return idleWorkers(activeWorkers());
+    }
+
+    @Override
+    public long getQueueWaitP50Micros() {
+      return micros(queueWait.snapshot().percentile(50));
+    }
+
+    @Override
+    public long getQueueWaitP99Micros() {
+      return micros(queueWait.snapshot().percentile(99));
+    }
+
+    @Override
+    public long getQueueWaitMaxMicros() {
+      return micros(queueWait.snapshot().max());
+    }
+
+    @Override
+    public long getRunTimeP50Micros() {
+      return micros(runTime.snapshot().percentile(50));
+    }
+
+    @Override
+    public long getRunTimeP99Micros() {
+      return micros(runTime.snapshot().percentile(99));
+    }
+
+    @Override
+    public long getRunTimeMaxMicros() {
+      return micros(runTime.snapshot().max());
+    }
+
+    private long micros(long nanos) {
+      return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+  }
+
+  /**
+   * Runs blocking {@link Task}s on instrumented pools of 3 and 9 threads, the sizes used by
+   * {@link ExecuterExample3} and {@link ExecutorExample2}, and prints where the latency went. With the
+   * smaller pool almost all of it is queue wait.
+   *
+   * @param args optional number of tasks and blocking time in milliseconds, 2,000 and 1 by default
+   * @throws InterruptedException if interrupted while waiting for the pools
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int tasks = (args.length > 0) ? Integer.parseInt(args[0]) : 2_000;
+    Duration blocking = Duration.ofMillis((args.length > 1) ? Long.parseLong(args[1]) : 1);
+    for (int threads : new int[]{3, 9}) {
+      InstrumentedExecutor executor = fixedPool("pool-of-" + threads, threads);
+      ObjectName mbean = executor.registerMBean();
+      for (int i = 0; i < tasks; i++) {
+        executor.execute(new Task("Task " + i, blocking));
+      }
+      System.out.println("Mid-run  " + executor.metrics());
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+      System.out.println("Finished " + executor.metrics());
+      System.out.println("MBean was " + mbean + System.lineSeparator());
+    }
+  }
+}
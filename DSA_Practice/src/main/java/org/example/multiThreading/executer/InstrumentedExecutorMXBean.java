@@ -0,0 +1,33 @@
+package org.example.multiThreading.executer;
+
+/**
+ * Management view of an {@link InstrumentedExecutor}, registered with the platform MBean server by
+ * {@link InstrumentedExecutor#registerMBean()} so that JConsole or any JMX client can read it.
+ * Times are in microseconds.
+ */
+public interface InstrumentedExecutorMXBean {
+
+  long getSubmittedTasks();
+
+  long getCompletedTasks();
+
+  long getRejectedTasks();
+
+  int getQueuedTasks();
+
+  int getActiveWorkers();
+
+  int getIdleWorkers();
+
+  long getQueueWaitP50Micros();
+
+  long getQueueWaitP99Micros();
+
+  long getQueueWaitMaxMicros();
+
+  long getRunTimeP50Micros();
+
+  long getRunTimeP99Micros();
+
+  long getRunTimeMaxMicros();
+}
@@ -0,0 +1,143 @@
+package org.example.multiThreading.executer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations in nanoseconds, with log-linear buckets in the style of HdrHistogram.
+ *
+ * <p>Every power of two is split into {@value #SUB_BUCKETS} equal buckets, so a recorded value is known to
+ * within about 6% of itself whether it is 200 ns or 20 s, using a fixed array of counters. Recording is one
+ * increment on that array plus a running sum and maximum; any number of threads may record at once, and
+ * {@link #snapshot()} may be taken while they do.
+ */
+public class LatencyHistogram {
+  private static final int SUB_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong total = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records one duration.
+   *
+   * @param nanos the duration in nanoseconds; negative values count as zero
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucket(value));
+    total.addAndGet(value);
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Copies the current counts. Values recorded while the copy is made may or may not be included.
+   *
+   * @return a snapshot of the histogram
+   */
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = counts.get(i);
+      count += copy[i];
+    }
+    return new Snapshot(copy, count, total.get(), max.get());
+  }
+
+  private static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+  }
+
+  private static long highestValueIn(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  /**
+   * Point-in-time copy of a histogram.
+   */
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long total;
+    private final long max;
+
+    private Snapshot(long[] counts, long count, long total, long max) {
+      this.counts = counts;
+      this.count = count;
+      this.total = total;
+      this.max = max;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the value count
+     */
+    public long count() {
+      return count;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public long mean() {
+      return (count == 0) ? 0 : total / count;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the maximum in nanoseconds
+     */
+    public long max() {
+      return max;
+    }
+
+    /**
+     * Returns the value below which the given share of the recorded values fall, rounded up to the top of
+     * its bucket.
+     *
+     * @param percentile the share, between 0 and 100
+     * @return the percentile in nanoseconds, or 0 if nothing was recorded
+     */
+    public long percentile(double percentile) {
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+      }
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(highestValueIn(i), max);
+        }
+      }
+      return max;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("count %d, mean %d us, p50 %d us, p99 %d us, max %d us", count,
+          TimeUnit.NANOSECONDS.toMicros(mean()), TimeUnit.NANOSECONDS.toMicros(percentile(50)),
+          TimeUnit.NANOSECONDS.toMicros(percentile(99)), TimeUnit.NANOSECONDS.toMicros(max));
+    }
+  }
+}
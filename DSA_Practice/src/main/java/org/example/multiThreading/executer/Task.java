@@ -0,0 +1,44 @@
+package org.example.multiThreading.executer;
+
+import java.time.Duration;
+
+/**
+ * Named unit of work. A task either prints which thread runs it, or stands in for a blocking call
+ * such as an I/O request by sleeping for a given time.
+ */
+class Task implements Runnable {
+  private String name;
+  private final Duration blocking;
+
+  public Task(String name) {
+    this(name, Duration.ZERO);
+  }
+
+  /**
+   * Creates a task that blocks for the given time instead of printing.
+   *
+   * @param name     the name of the task
+   * @param blocking how long the task blocks, like a remote call would
+   */
+  public Task(String name, Duration blocking) {
+    this.name = name;
+    this.blocking = blocking;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public void run() {
+    if (blocking.isZero()) {
+      System.out.println(name + " is being executed by " + Thread.currentThread().getName());
+      return;
+    }
+    try {
+      Thread.sleep(blocking);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,311 @@
+package org.example.multiThreading.executer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs tasks either on virtual threads or on a fixed pool of platform threads, behind one API.
+ *
+ * <p>Blocking a virtual thread only parks it and frees its carrier thread, so a virtual-thread executor can
+ * have as many blocking tasks in flight as there are tasks, where a fixed pool is capped at its pool size.
+ * Because nothing caps virtual threads, {@link #virtualThreads(int)} adds a {@link Semaphore} that limits how
+ * many tasks run at once; a task waiting for a permit is a parked virtual thread, which costs a few hundred
+ * bytes rather than a platform thread. {@link #fanOut()} opens a {@link FanOut} scope for
+ * structured-concurrency style fork and join.
+ */
+public class TaskExecutor implements AutoCloseable {
+  private final ExecutorService delegate;
+  private final Semaphore limiter;
+  private final String description;
+
+  private TaskExecutor(ExecutorService delegate, Semaphore limiter, String description) {
+    this.delegate = delegate;
+    this.limiter = limiter;
+    this.description = description;
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread for every task.
+   *
+   * @return an unbounded virtual-thread executor
+   */
+  public static TaskExecutor virtualThreads() {
+    return new TaskExecutor(Executors.newVirtualThreadPerTaskExecutor(), null, "virtual threads");
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread for every task but runs at most
+   * {@code maxConcurrency} of them at once, for example to protect a downstream service.
+   *
+   * @param maxConcurrency the maximum number of tasks running at the same time
+   * @return a limited virtual-thread executor
+   */
+  public static TaskExecutor virtualThreads(int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Concurrency limit must be greater than 0.");
+    }
+    return new TaskExecutor(Executors.newVirtualThreadPerTaskExecutor(), new Semaphore(maxConcurrency),
+        "virtual threads, limit " + maxConcurrency);
+  }
+
+  /**
+   * Creates an executor backed by {@link Executors#newFixedThreadPool(int)}.
+   *
+   * @param threads the number of platform threads
+   * @return a fixed-pool executor
+   */
+  public static TaskExecutor fixedPool(int threads) {
+    return new TaskExecutor(Executors.newFixedThreadPool(threads), null, "fixed pool of " + threads);
+  }
+
+  /**
+   * Submits a task.
+   *
+   * @param task the task to run
+   * @return a future that completes when the task has run
+   */
+  public Future<?> submit(Runnable task) {
+    return delegate.submit(limited(() -> {
+      task.run();
+      return null;
+    }));
+  }
+
+  /**
+   * Submits a task that returns a result.
+   *
+   * @param task the task to run
+   * @param <T>  the type of the result
+   * @return a future holding the result
+   */
+  public <T> Future<T> submit(Callable<T> task) {
+    return delegate.submit(limited(task));
+  }
+
+  /**
+   * Opens a scope that forks subtasks on this executor and joins them together.
+   *
+   * @param <T> the type of the subtask results
+   * @return a new scope, to be closed with try-with-resources
+   */
+  public <T> FanOut<T> fanOut() {
+    return new FanOut<>(this);
+  }
+
+  /**
+   * Stops accepting tasks and waits for the submitted ones to finish.
+   */
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  @Override
+  public String toString() {
+    return description;
+  }
+
+  private <T> Callable<T> limited(Callable<T> task) {
+    if (limiter == null) {
+      return task;
+    }
+    return () -> {
+      limiter.acquire();
+      try {
+        return task.call();
+      } finally {
+        limiter.release();
+      }
+    };
+  }
+
+  /**
+   * Scope that owns the subtasks forked in it, in the style of {@code StructuredTaskScope.ShutdownOnFailure}:
+   * the first failing subtask cancels the others, {@link #join()} waits for all of them and reports the
+   * failure, and closing the scope cancels and interrupts whatever is still running and waits for it to stop.
+   *
+   * <pre>{@code
+   * try (TaskExecutor.FanOut<String> scope = executor.fanOut()) {
+   *   Future<String> user = scope.fork(() -> fetchUser());
+   *   Future<String> order = scope.fork(() -> fetchOrder());
+   *   scope.join();
+   *   render(user.resultNow(), order.resultNow());
+   * }
+   * }</pre>
+   *
+   * <p>A scope is meant to be used by the thread that opened it.
+   *
+   * @param <T> the type of the subtask results
+   */
+  public static class FanOut<T> implements AutoCloseable {
+    private final TaskExecutor executor;
+    private final List<Subtask<T>> subtasks = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private FanOut(TaskExecutor executor) {
+      this.executor = executor;
+    }
+
+    /**
+     * Starts a subtask in this scope.
+     *
+     * @param task the subtask
+     * @return a future for its result, complete once {@link #join()} returns
+     */
+    public Future<T> fork(Callable<T> task) {
+      Subtask<T> subtask = new Subtask<>();
+      subtask.future = executor.submit(() -> {
+        // Claiming the subtask tells close() that it started and must be waited for
+        if (!subtask.claimed.compareAndSet(false, true)) {
+          throw new CancellationException("Scope closed before the subtask started");
+        }
+        try {
+          return task.call();
+        } catch (Throwable e) {
+          if (failure.compareAndSet(null, e)) {
+            cancelAll();
+          }
+          throw e;
+        } finally {
+          subtask.finished.countDown();
+        }
+      });
+      synchronized (subtasks) {
+        subtasks.add(subtask);
+      }
+      if (failure.get() != null) {
+        subtask.future.cancel(true);
+      }
+      return subtask.future;
+    }
+
+    /**
+     * Waits for every forked subtask.
+     *
+     * @throws ExecutionException   if a subtask failed; the others have been cancelled
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void join() throws ExecutionException, InterruptedException {
+      for (Subtask<T> subtask : snapshot()) {
+        try {
+          subtask.future.get();
+        } catch (CancellationException | ExecutionException e) {
+          // The first failure is reported below; cancelled siblings are a consequence of it
+        }
+      }
+      Throwable cause = failure.get();
+      if (cause != null) {
+        throw new ExecutionException(cause);
+      }
+    }
+
+    /**
+     * Waits for every forked subtask and returns their results in fork order.
+     *
+     * @return the results of all subtasks
+     * @throws ExecutionException   if a subtask failed; the others have been cancelled
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public List<T> joinAll() throws ExecutionException, InterruptedException {
+      join();
+      List<T> results = new ArrayList<>();
+      for (Subtask<T> subtask : snapshot()) {
+        results.add(subtask.future.resultNow());
+      }
+      return results;
+    }
+
+    /**
+     * Cancels every subtask that is still running and waits until all of them have stopped, so no subtask
+     * outlives the scope. Like {@code StructuredTaskScope.close()}, the wait is not cut short by an interrupt;
+     * the interrupt status is restored afterwards.
+     */
+    @Override
+    public void close() {
+      cancelAll();
+      boolean interrupted = false;
+      for (Subtask<T> subtask : snapshot()) {
+        if (subtask.claimed.compareAndSet(false, true)) {
+          continue;   // never started, and now never will
+        }
+        while (true) {
+          try {
+            subtask.finished.await();
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void cancelAll() {
+      for (Subtask<T> subtask : snapshot()) {
+        subtask.future.cancel(true);
+      }
+    }
+
+    private List<Subtask<T>> snapshot() {
+      synchronized (subtasks) {
+        return new ArrayList<>(subtasks);
+      }
+    }
+
+    /**
+     * A forked subtask and whether its body has started and finished.
+     */
+    private static final class Subtask<T> {
+      private final AtomicBoolean claimed = new AtomicBoolean();
+      private final CountDownLatch finished = new CountDownLatch(1);
+      private volatile Future<T> future;
+    }
+  }
+
+  /**
+   * Runs 100,000 blocking {@link Task}s on fixed pools of 3 and 9 threads and on virtual threads,
+   * with and without a concurrency limit, and prints the wall time and throughput of each.
+   *
+   * @param args optional number of tasks and blocking time in milliseconds, 100,000 and 1 by default
+   * @throws Exception if a task fails
+   */
+  public static void main(String[] args) throws Exception {
+    int tasks = (args.length > 0) ? Integer.parseInt(args[0]) : 100_000;
+    Duration blocking = Duration.ofMillis((args.length > 1) ? Long.parseLong(args[1]) : 1);
+
+    try (TaskExecutor executor = virtualThreads(); FanOut<Integer> scope = executor.fanOut()) {
+      for (int i = 0; i < 3; i++) {
+        int part = i;
+        scope.fork(() -> part * part);
+      }
+      System.out.println("Fan-out results : " + scope.joinAll());
+    }
+
+    List<TaskExecutor> executors = List.of(fixedPool(3), fixedPool(9), virtualThreads(1_000), virtualThreads());
+    for (TaskExecutor executor : executors) {
+      long start = System.nanoTime();
+      try (executor) {
+        for (int i = 0; i < tasks; i++) {
+          executor.submit(new Task("Task " + i, blocking));
+        }
+      }
+      long elapsed = System.nanoTime() - start;
+      System.out.printf("%-32s %8d ms %12d tasks/sec%n", executor,
+          TimeUnit.NANOSECONDS.toMillis(elapsed), tasks * 1_000_000_000L / elapsed);
+    }
+  }
+}
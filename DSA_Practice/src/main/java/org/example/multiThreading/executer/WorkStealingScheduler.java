@@ -0,0 +1,538 @@
+package org.example.multiThreading.executer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.example.queue.implementation.CircularQueue.WorkStealingDeque;
+
+/**
+ * Scheduler with one worker thread per slot, each owning a {@link WorkStealingDeque} per priority lane.
+ *
+ * <p>Unlike {@link Thread#setPriority(int)}, which the operating system is free to ignore, priorities here
+ * decide which task a worker runs next: a worker always takes from its highest non-empty lane, except that a
+ * lower lane passed over {@code agingLimit} times in a row is served once, so low priority tasks are delayed
+ * but never starved.
+ *
+ * <p>Tasks submitted from outside go to a worker's inbox, round-robin, and are taken in submission order.
+ * Tasks submitted by a task go straight onto the current worker's deque, where they are still hot in its cache;
+ * the worker runs the newest of them first and only then turns to its inbox. An idle worker steals the oldest
+ * task of another worker, highest lane first. Tasks with an affinity key always run on the worker the key hashes
+ * to and are never stolen, so related tasks run one after another on the same thread and can share state
+ * without locks.
+ */
+public class WorkStealingScheduler implements Executor, AutoCloseable {
+  private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final int DEFAULT_AGING_LIMIT = 8;
+
+  /**
+   * Priority lanes, highest first.
+   */
+  public enum Priority {
+    HIGH, NORMAL, LOW
+  }
+
+  private static final int LANES = Priority.values().length;
+
+  private final Worker[] workers;
+  private final int agingLimit;
+  private final AtomicInteger nextWorker = new AtomicInteger();
+  private final AtomicInteger idleWorkers = new AtomicInteger();
+  private final AtomicLong pending = new AtomicLong();
+  private final CountDownLatch terminated;
+  private volatile boolean shutdown = false;
+
+  /**
+   * Creates a scheduler with one worker per processor.
+   */
+  public WorkStealingScheduler() {
+    this(Runtime.getRuntime().availableProcessors(), DEFAULT_AGING_LIMIT);
+  }
+
+  /**
+   * Creates a scheduler and starts its workers.
+   *
+   * @param workerCount the number of worker threads
+   * @param agingLimit  how many times a non-empty lane may be passed over before it is served
+   */
+  public WorkStealingScheduler(int workerCount, int agingLimit) {
+    if (workerCount < 1) {
+      throw new IllegalArgumentException("Worker count must be greater than 0.");
+    }
+    if (agingLimit < 1) {
+      throw new IllegalArgumentException("Aging limit must be greater than 0.");
+    }
+    this.agingLimit = agingLimit;
+    this.terminated = new CountDownLatch(workerCount);
+    workers = new Worker[workerCount];
+    for (int i = 0; i < workerCount; i++) {
+      workers[i] = new Worker(i);
+    }
+    for (Worker worker : workers) {
+      worker.start();
+    }
+  }
+
+  /**
+   * Runs a task with {@link Priority#NORMAL} priority on any worker.
+   *
+   * @param task the task to run
+   */
+  @Override
+  public void execute(Runnable task) {
+    submit(task, Priority.NORMAL, null);
+  }
+
+  /**
+   * Runs a task with the given priority on any worker.
+   *
+   * @param task     the task to run
+   * @param priority the lane of the task
+   */
+  public void submit(Runnable task, Priority priority) {
+    submit(task, priority, null);
+  }
+
+  /**
+   * Runs a task with the given priority. Tasks with equal affinity keys always run on the same worker.
+   *
+   * @param task        the task to run
+   * @param priority    the lane of the task
+   * @param affinityKey the key choosing the worker, or null to let any worker run it
+   * @throws RejectedExecutionException if the scheduler has been shut down and the caller is not one of its tasks
+   */
+  public void submit(Runnable task, Priority priority, Object affinityKey) {
+    if (task == null || priority == null) {
+      throw new NullPointerException("Task and priority must not be null.");
+    }
+    Thread current = Thread.currentThread();
+    boolean internal = current instanceof Worker && ((Worker) current).scheduler() == this;
+    // Counted before the shutdown check, so workers cannot exit between the check and the enqueue
+    pending.incrementAndGet();
+    if (shutdown && !internal) {
+      pending.decrementAndGet();
+      throw new RejectedExecutionException("Scheduler has been shut down");
+    }
+    int lane = priority.ordinal();
+    if (affinityKey != null) {
+      Worker target = workers[Math.floorMod(spread(affinityKey.hashCode()), workers.length)];
+      target.lanes[lane].pinned.add(task);
+      target.wake();
+    } else if (internal) {
+      ((Worker) current).lanes[lane].deque.push(task);
+      wakeIdleWorker();
+    } else {
+      Worker target = workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+      target.lanes[lane].inbox.add(task);
+      if (!target.wake()) {
+        wakeIdleWorker();
+      }
+    }
+  }
+
+  /**
+   * Stops accepting tasks from outside. Running tasks may still submit subtasks, and workers exit
+   * once every submitted task has run.
+   */
+  public void shutdown() {
+    shutdown = true;
+    for (Worker worker : workers) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  /**
+   * Waits for the workers to exit after {@link #shutdown()}.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit    the unit of the timeout
+   * @return {@code true} if every worker has exited
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return terminated.await(timeout, unit);
+  }
+
+  /**
+   * Shuts down and waits until every submitted task has run.
+   */
+  @Override
+  public void close() {
+    shutdown();
+    boolean interrupted = false;
+    while (true) {
+      try {
+        terminated.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the current queue depths and counters of every worker. Each value is read without stopping the
+   * workers, so the snapshot is only approximate while tasks are running.
+   *
+   * @return a snapshot of the scheduler metrics
+   */
+  public Metrics metrics() {
+    int[][] depths = new int[workers.length][LANES];
+    long[] executed = new long[workers.length];
+    long[] steals = new long[workers.length];
+    for (int i = 0; i < workers.length; i++) {
+      for (int lane = 0; lane < LANES; lane++) {
+        depths[i][lane] = workers[i].lanes[lane].size();
+      }
+      executed[i] = workers[i].executed;
+      steals[i] = workers[i].steals;
+    }
+    return new Metrics(depths, executed, steals);
+  }
+
+  private void wakeIdleWorker() {
+    if (idleWorkers.get() == 0) {
+      return;
+    }
+    for (Worker worker : workers) {
+      if (worker.wake()) {
+        return;
+      }
+    }
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Point-in-time view of the scheduler, per worker.
+   */
+  public static final class Metrics {
+    private final int[][] queueDepths;
+    private final long[] executed;
+    private final long[] steals;
+
+    private Metrics(int[][] queueDepths, long[] executed, long[] steals) {
+      this.queueDepths = queueDepths;
+      this.executed = executed;
+      this.steals = steals;
+    }
+
+    /**
+     * Returns the number of tasks waiting on a worker in a lane.
+     *
+     * @param worker   the index of the worker
+     * @param priority the lane
+     * @return the queue depth
+     */
+    public int queueDepth(int worker, Priority priority) {
+      return queueDepths[worker][priority.ordinal()];
+    }
+
+    /**
+     * Returns the number of tasks waiting on a worker across all lanes.
+     *
+     * @param worker the index of the worker
+     * @return the queue depth
+     */
+    public int queueDepth(int worker) {
+      return Arrays.stream(queueDepths[worker]).sum();
+    }
+
+    /**
+     * Returns the number of tasks a worker has run.
+     *
+     * @param worker the index of the worker
+     * @return the executed task count
+     */
+    public long executed(int worker) {
+      return executed[worker];
+    }
+
+    /**
+     * Returns the number of tasks a worker has stolen from others.
+     *
+     * @param worker the index of the worker
+     * @return the steal count
+     */
+    public long steals(int worker) {
+      return steals[worker];
+    }
+
+    /**
+     * Returns the number of workers.
+     *
+     * @return the worker count
+     */
+    public int workers() {
+      return executed.length;
+    }
+
+    /**
+     * Returns the number of tasks run by all workers.
+     *
+     * @return the total executed task count
+     */
+    public long totalExecuted() {
+      return Arrays.stream(executed).sum();
+    }
+
+    /**
+     * Returns the number of steals by all workers.
+     *
+     * @return the total steal count
+     */
+    public long totalSteals() {
+      return Arrays.stream(steals).sum();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < workers(); i++) {
+        sb.append("worker ").append(i)
+            .append(" : depth ").append(Arrays.toString(queueDepths[i]))
+            .append(", executed ").append(executed[i])
+            .append(", steals ").append(steals[i])
+            .append(System.lineSeparator());
+      }
+      return sb.toString();
+    }
+  }
+
+  /**
+   * The queues of one priority lane of a worker. The deque is only pushed and popped by its worker; the inbox
+   * and the pinned queue are written by any submitting thread.
+   */
+  private static final class Lane {
+    private final WorkStealingDeque<Runnable> deque = new WorkStealingDeque<>();
+    private final Queue<Runnable> inbox = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> pinned = new ConcurrentLinkedQueue<>();
+
+    boolean isEmpty() {
+      return pinned.isEmpty() && deque.isEmpty() && inbox.isEmpty();
+    }
+
+    int size() {
+      return pinned.size() + deque.size() + inbox.size();
+    }
+
+    /**
+     * Takes pinned tasks oldest first, then the newest forked task, then the oldest submitted task.
+     */
+    Runnable take() {
+      Runnable task = pinned.poll();
+      if (task == null) {
+        task = deque.pop();
+      }
+      return (task != null) ? task : inbox.poll();
+    }
+  }
+
+  /**
+   * Worker thread with one {@link Lane} per priority.
+   */
+  private final class Worker extends Thread {
+    private final int index;
+    private final Lane[] lanes = new Lane[LANES];
+    private final int[] passedOver = new int[LANES];
+    private volatile boolean idle = false;
+    private volatile long executed = 0;
+    private volatile long steals = 0;
+
+    Worker(int index) {
+      super("scheduler-worker-" + index);
+      this.index = index;
+      for (int lane = 0; lane < LANES; lane++) {
+        lanes[lane] = new Lane();
+      }
+      setDaemon(true);
+    }
+
+    WorkStealingScheduler scheduler() {
+      return WorkStealingScheduler.this;
+    }
+
+    /**
+     * Unparks the worker if it is idle.
+     *
+     * @return {@code true} if the worker was idle
+     */
+    boolean wake() {
+      if (idle) {
+        LockSupport.unpark(this);
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (true) {
+          Runnable task = next();
+          if (task == null) {
+            task = steal();
+          }
+          if (task != null) {
+            runTask(task);
+            continue;
+          }
+          if (shutdown && pending.get() == 0) {
+            return;
+          }
+          idle = true;
+          idleWorkers.incrementAndGet();
+          if (!hasLocalWork()) {
+            LockSupport.parkNanos(this, PARK_NANOS);
+          }
+          idleWorkers.decrementAndGet();
+          idle = false;
+        }
+      } finally {
+        terminated.countDown();
+      }
+    }
+
+    private void runTask(Runnable task) {
+      try {
+        task.run();
+      } catch (Throwable e) {
+        getUncaughtExceptionHandler().uncaughtException(this, e);
+      } finally {
+        executed++;
+        pending.decrementAndGet();
+      }
+    }
+
+    /**
+     * Takes the next local task: the highest non-empty lane, unless a lower lane has aged enough.
+     */
+    private Runnable next() {
+      int highest = -1;
+      for (int lane = 0; lane < LANES; lane++) {
+        if (hasWork(lane)) {
+          highest = lane;
+          break;
+        }
+      }
+      if (highest < 0) {
+        return null;
+      }
+      for (int lane = LANES - 1; lane > highest; lane--) {
+        if (passedOver[lane] >= agingLimit && hasWork(lane)) {
+          Runnable task = take(lane);
+          if (task != null) {
+            passedOver[lane] = 0;
+            return task;
+          }
+        }
+      }
+      for (int lane = highest + 1; lane < LANES; lane++) {
+        if (hasWork(lane)) {
+          passedOver[lane]++;
+        }
+      }
+      passedOver[highest] = 0;
+      return take(highest);
+    }
+
+    private boolean hasWork(int lane) {
+      return !lanes[lane].isEmpty();
+    }
+
+    private boolean hasLocalWork() {
+      for (int lane = 0; lane < LANES; lane++) {
+        if (hasWork(lane)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private Runnable take(int lane) {
+      return lanes[lane].take();
+    }
+
+    /**
+     * Steals the oldest task of another worker, highest lane first, starting from a random victim.
+     */
+    private Runnable steal() {
+      int count = workers.length;
+      if (count == 1) {
+        return null;
+      }
+      int start = ThreadLocalRandom.current().nextInt(count);
+      for (int lane = 0; lane < LANES; lane++) {
+        for (int i = 0; i < count; i++) {
+          Worker victim = workers[(start + i) % count];
+          if (victim == this) {
+            continue;
+          }
+          Runnable task = victim.lanes[lane].deque.steal();
+          if (task == null) {
+            task = victim.lanes[lane].inbox.poll();
+          }
+          if (task != null) {
+            steals++;
+            return task;
+          }
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public String toString() {
+      return "worker " + index;
+    }
+  }
+
+  /**
+   * Runs a mix of priorities and affinity keys, checks that every keyed task ran on one worker,
+   * and prints the per-worker metrics.
+   *
+   * @param args command line arguments (not used)
+   * @throws InterruptedException if interrupted while waiting for the workers
+   */
+  public static void main(String[] args) throws InterruptedException {
+    Map<Integer, String> workerByKey = new ConcurrentHashMap<>();
+    AtomicInteger misplaced = new AtomicInteger();
+    WorkStealingScheduler scheduler = new WorkStealingScheduler(4, DEFAULT_AGING_LIMIT);
+    for (int i = 0; i < 100_000; i++) {
+      Priority priority = Priority.values()[i % LANES];
+      if (i % 10 == 0) {
+        int key = i % 16;
+        scheduler.submit(() -> {
+          String worker = Thread.currentThread().getName();
+          if (!worker.equals(workerByKey.computeIfAbsent(key, k -> worker))) {
+            misplaced.incrementAndGet();
+          }
+        }, priority, key);
+      } else {
+        // Tasks that fork a subtask, which lands on the worker's own deque and can be stolen
+        scheduler.submit(() -> scheduler.execute(() -> Math.sqrt(ThreadLocalRandom.current().nextDouble())),
+            priority);
+      }
+    }
+    Metrics metrics = scheduler.metrics();
+    scheduler.close();
+    System.out.print(metrics);
+    Metrics end = scheduler.metrics();
+    System.out.println("Executed " + end.totalExecuted() + " tasks, " + end.totalSteals() + " steals, "
+        + misplaced.get() + " keyed tasks on the wrong worker");
+  }
+}
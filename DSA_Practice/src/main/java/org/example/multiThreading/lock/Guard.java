@@ -0,0 +1,225 @@
+package org.example.multiThreading.lock;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Makes an unsynchronized data structure safe to share by running every access to it under a lock.
+ *
+ * <p>Three variants cover the usual trade-offs:
+ * <ul>
+ *   <li>{@link #stamped(Object)} first tries an optimistic read of a {@link StampedLock}: the reader runs
+ *   without taking any lock and only checks afterwards that no writer got in. Readers never write to shared
+ *   memory, so on read-mostly workloads they scale with the number of cores. If a writer did get in, the
+ *   result is thrown away and the read is repeated under the read lock.</li>
+ *   <li>{@link #readWrite(Object)} takes the read lock of a {@link ReentrantReadWriteLock} for every read.
+ *   Readers run in parallel but all update the lock's reader count.</li>
+ *   <li>{@link #synchronizedOn(Object)} serializes everything on one monitor, like
+ *   {@code Counter.increment}, and is the baseline the other two are measured against.</li>
+ * </ul>
+ *
+ * <p>An optimistic reader may see the structure halfway through a write: a null link, an index past the end,
+ * a half-built node. It must therefore only make bounded progress and only read, never act on what it saw
+ * before the result is returned; exceptions it throws are taken as a sign of such a view and trigger the
+ * fallback. Lookups like {@code contains} or {@code get(index)} qualify; iterating a list that a writer may
+ * be reversing in place does not, and belongs in {@link #read(Function)}. Neither lock is reentrant for
+ * writes, so the functions passed in must not call back into the same guard.
+ *
+ * @param <T> the type of the guarded structure
+ */
+public abstract class Guard<T> {
+  final T target;
+
+  private Guard(T target) {
+    if (target == null) {
+      throw new NullPointerException("Target must not be null.");
+    }
+    this.target = target;
+  }
+
+  /**
+   * Guards a structure with optimistic reads that fall back to the read lock of a {@link StampedLock}.
+   *
+   * @param target the structure to guard
+   * @param <T>    the type of the structure
+   * @return the guard
+   */
+  public static <T> Guard<T> stamped(T target) {
+    return new Stamped<>(target);
+  }
+
+  /**
+   * Guards a structure with a {@link ReentrantReadWriteLock}.
+   *
+   * @param target the structure to guard
+   * @param <T>    the type of the structure
+   * @return the guard
+   */
+  public static <T> Guard<T> readWrite(T target) {
+    return new ReadWrite<>(target);
+  }
+
+  /**
+   * Guards a structure with its own monitor.
+   *
+   * @param target the structure to guard
+   * @param <T>    the type of the structure
+   * @return the guard
+   */
+  public static <T> Guard<T> synchronizedOn(T target) {
+    return new Synchronized<>(target);
+  }
+
+  /**
+   * Runs a short, bounded lookup, optimistically if this guard supports it.
+   *
+   * @param reader the lookup; it may run on an inconsistent view and have its result discarded
+   * @param <R>    the type of the result
+   * @return the result of a run that saw a consistent view
+   */
+  public abstract <R> R optimisticRead(Function<? super T, ? extends R> reader);
+
+  /**
+   * Runs a read that other readers may share but no writer may overlap.
+   *
+   * @param reader the read
+   * @param <R>    the type of the result
+   * @return the result of the read
+   */
+  public abstract <R> R read(Function<? super T, ? extends R> reader);
+
+  /**
+   * Runs a modification with exclusive access.
+   *
+   * @param writer the modification
+   * @param <R>    the type of the result
+   * @return the result of the modification
+   */
+  public abstract <R> R write(Function<? super T, ? extends R> writer);
+
+  /**
+   * Runs a modification that returns nothing with exclusive access.
+   *
+   * @param writer the modification
+   */
+  public void update(Consumer<? super T> writer) {
+    write(target -> {
+      writer.accept(target);
+      return null;
+    });
+  }
+
+  /**
+   * Optimistic reads on a {@link StampedLock}, with its read and write locks as the fallback.
+   */
+  private static final class Stamped<T> extends Guard<T> {
+    private final StampedLock lock = new StampedLock();
+
+    Stamped(T target) {
+      super(target);
+    }
+
+    @Override
+    public <R> R optimisticRead(Function<? super T, ? extends R> reader) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp != 0) {
+        try {
+          R result = reader.apply(target);
+          if (lock.validate(stamp)) {
+            return result;
+          }
+        } catch (RuntimeException e) {
+          if (lock.validate(stamp)) {
+            throw e;   // the view was consistent, so the failure is real
+          }
+        }
+      }
+      return read(reader);
+    }
+
+    @Override
+    public <R> R read(Function<? super T, ? extends R> reader) {
+      long stamp = lock.readLock();
+      try {
+        return reader.apply(target);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    @Override
+    public <R> R write(Function<? super T, ? extends R> writer) {
+      long stamp = lock.writeLock();
+      try {
+        return writer.apply(target);
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+  }
+
+  /**
+   * Read and write locks of a {@link ReentrantReadWriteLock}; optimistic reads take the read lock.
+   */
+  private static final class ReadWrite<T> extends Guard<T> {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    ReadWrite(T target) {
+      super(target);
+    }
+
+    @Override
+    public <R> R optimisticRead(Function<? super T, ? extends R> reader) {
+      return read(reader);
+    }
+
+    @Override
+    public <R> R read(Function<? super T, ? extends R> reader) {
+      lock.readLock().lock();
+      try {
+        return reader.apply(target);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    @Override
+    public <R> R write(Function<? super T, ? extends R> writer) {
+      lock.writeLock().lock();
+      try {
+        return writer.apply(target);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * The monitor of the target for every access.
+   */
+  private static final class Synchronized<T> extends Guard<T> {
+
+    Synchronized(T target) {
+      super(target);
+    }
+
+    @Override
+    public <R> R optimisticRead(Function<? super T, ? extends R> reader) {
+      return write(reader);
+    }
+
+    @Override
+    public <R> R read(Function<? super T, ? extends R> reader) {
+      return write(reader);
+    }
+
+    @Override
+    public <R> R write(Function<? super T, ? extends R> writer) {
+      synchronized (target) {
+        return writer.apply(target);
+      }
+    }
+  }
+}
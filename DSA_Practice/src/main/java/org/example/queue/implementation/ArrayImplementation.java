@@ -1,5 +1,8 @@
 package org.example.queue.implementation;
 
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
 public class ArrayImplementation {
   public static class QueueArray{
     private int front = -1;
@@ -64,6 +67,267 @@ public class ArrayImplementation {
     }
   }
 
+  /**
+   * Growable double-ended queue of {@code int} values on a circular array.
+   *
+   * <p>{@link QueueArray} only moves {@code front} forward and never reuses the slots in front of it, so it
+   * reports "Queue is full" after 100 adds no matter how many were removed. Here the head index wraps around
+   * the array and the array doubles when it is full, so every operation at either end is amortized O(1).
+   * The capacity is a power of two, which turns the wrap-around into a mask.
+   */
+  public static class IntDeque {
+    private int[] arr;
+    private int head = 0;   // index of the first element
+    private int size = 0;
+
+    /**
+     * Creates a deque with room for 16 elements before it grows.
+     */
+    public IntDeque() {
+      this(16);
+    }
+
+    /**
+     * Creates a deque.
+     *
+     * @param initialCapacity the number of elements it can hold before it grows, rounded up to a power of two
+     */
+    public IntDeque(int initialCapacity) {
+      if (initialCapacity < 1 || initialCapacity > 1 << 30) {
+        throw new IllegalArgumentException("Initial capacity must be between 1 and 2^30.");
+      }
+      int capacity = Integer.highestOneBit(initialCapacity);
+      if (capacity < initialCapacity) {
+        capacity <<= 1;
+      }
+      arr = new int[capacity];
+    }
+
+    /**
+     * Adds a value at the front.
+     *
+     * @param value the value to add
+     */
+    public void addFirst(int value) {
+      if (size == arr.length) {
+        grow();
+      }
+      head = (head - 1) & (arr.length - 1);
+      arr[head] = value;
+      size++;
+    }
+
+    /**
+     * Adds a value at the back.
+     *
+     * @param value the value to add
+     */
+    public void addLast(int value) {
+      if (size == arr.length) {
+        grow();
+      }
+      arr[(head + size) & (arr.length - 1)] = value;
+      size++;
+    }
+
+    /**
+     * Adds a value at the back, the FIFO end of the queue.
+     *
+     * @param value the value to add
+     */
+    public void add(int value) {
+      addLast(value);
+    }
+
+    /**
+     * Removes and returns the front value.
+     *
+     * @return the front value
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int removeFirst() {
+      if (size == 0) {
+        throw new NoSuchElementException("Queue is empty");
+      }
+      return unlinkFirst();
+    }
+
+    /**
+     * Removes and returns the back value.
+     *
+     * @return the back value
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int removeLast() {
+      if (size == 0) {
+        throw new NoSuchElementException("Queue is empty");
+      }
+      return unlinkLast();
+    }
+
+    /**
+     * Removes and returns the front value, the FIFO end of the queue.
+     *
+     * @return the front value
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int remove() {
+      return removeFirst();
+    }
+
+    /**
+     * Removes and returns the front value.
+     *
+     * @param defaultValue the value to return when the deque is empty
+     * @return the front value, or {@code defaultValue} if the deque is empty
+     */
+    public int pollFirstOrDefault(int defaultValue) {
+      return (size == 0) ? defaultValue : unlinkFirst();
+    }
+
+    /**
+     * Removes and returns the back value.
+     *
+     * @param defaultValue the value to return when the deque is empty
+     * @return the back value, or {@code defaultValue} if the deque is empty
+     */
+    public int pollLastOrDefault(int defaultValue) {
+      return (size == 0) ? defaultValue : unlinkLast();
+    }
+
+    /**
+     * Returns the front value without removing it.
+     *
+     * @return the front value
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int peekFirst() {
+      if (size == 0) {
+        throw new NoSuchElementException("Queue is empty");
+      }
+      return arr[head];
+    }
+
+    /**
+     * Returns the back value without removing it.
+     *
+     * @return the back value
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int peekLast() {
+      if (size == 0) {
+        throw new NoSuchElementException("Queue is empty");
+      }
+      return arr[(head + size - 1) & (arr.length - 1)];
+    }
+
+    /**
+     * Returns the value at the given position from the front in O(1).
+     *
+     * @param index the position from the front, starting from 0
+     * @return the value at the position
+     * @throws IndexOutOfBoundsException if the index is outside the deque
+     */
+    public int get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Invalid index " + index);
+      }
+      return arr[(head + index) & (arr.length - 1)];
+    }
+
+    /**
+     * Returns the number of values in the deque.
+     *
+     * @return the size of the deque
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Checks if the deque is empty.
+     *
+     * @return {@code true} if the deque has no values
+     */
+    public boolean isEmpty() {
+      return size == 0;
+    }
+
+    /**
+     * Removes every value, keeping the current capacity.
+     */
+    public void clear() {
+      head = 0;
+      size = 0;
+    }
+
+    /**
+     * Returns an iterator from front to back. It is not fail-fast, so the deque
+     * must not be modified while it is in use.
+     *
+     * @return an iterator over the values
+     */
+    public PrimitiveIterator.OfInt iterator() {
+      return new PrimitiveIterator.OfInt() {
+        private int index = 0;
+
+        @Override
+        public boolean hasNext() {
+          return index < size;
+        }
+
+        @Override
+        public int nextInt() {
+          if (index >= size) {
+            throw new NoSuchElementException();
+          }
+          return arr[(head + index++) & (arr.length - 1)];
+        }
+      };
+    }
+
+    /**
+     * Displays the values from front to back.
+     */
+    public void display() {
+      if (size == 0) {
+        System.out.println("Queue is empty");
+        return;
+      }
+      for (int i = 0; i < size; i++) {
+        System.out.print(arr[(head + i) & (arr.length - 1)] + " ");
+      }
+      System.out.println();
+    }
+
+    private int unlinkFirst() {
+      int x = arr[head];
+      head = (head + 1) & (arr.length - 1);
+      size--;
+      return x;
+    }
+
+    private int unlinkLast() {
+      size--;
+      return arr[(head + size) & (arr.length - 1)];
+    }
+
+    /**
+     * Doubles the array and unwraps the elements so the front is at index 0 again.
+     */
+    private void grow() {
+      if (arr.length == 1 << 30) {
+        throw new IllegalStateException("Queue is full");
+      }
+      int[] grown = new int[arr.length * 2];
+      int firstPart = arr.length - head;
+      System.arraycopy(arr, head, grown, 0, firstPart);
+      System.arraycopy(arr, 0, grown, firstPart, head);
+      arr = grown;
+      head = 0;
+    }
+  }
+
   public static void main(String[] args) {
     QueueArray queueArray = new QueueArray();
     System.out.println(queueArray.isEmpty());
@@ -80,6 +344,14 @@ public class ArrayImplementation {
     queueArray.display();
     System.out.println(queueArray.isEmpty());
 
+    IntDeque deque = new IntDeque(2);
+    deque.addLast(5);
+    deque.addLast(25);
+    deque.addFirst(1);
+    deque.display();
+    System.out.println("Removed from front : " + deque.removeFirst());
+    System.out.println("Removed from back : " + deque.removeLast());
+    deque.display();
   }
 
 }
@@ -1,5 +1,188 @@
 package org.example.queue.implementation;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Circular queues used as building blocks for schedulers.
+ */
 public class CircularQueue {
 
+  /**
+   * Chase-Lev work-stealing deque, the per-worker queue of a work-stealing scheduler.
+   *
+   * <p>The owning worker pushes and pops tasks at the bottom, newest first, so it keeps working on what is
+   * still hot in its cache. Other workers steal from the top, oldest first. Owner operations only touch
+   * {@code bottom} and need a compare-and-set just when taking the last task; thieves race each other with one
+   * compare-and-set on {@code top}. Nothing blocks.
+   *
+   * <p>Tasks live in a circular array indexed by {@code index & (length - 1)} that the owner replaces with one
+   * twice as large when it fills up. A thief still reading the old array sees the same task at the same index,
+   * since the old array is never written again. Slots are not cleared when a task is taken, so a task stays
+   * reachable until its slot is reused.
+   *
+   * @param <T> the type of the tasks
+   */
+  public static class WorkStealingDeque<T> {
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final VarHandle TOP;
+    private static final VarHandle BOTTOM;
+
+    static {
+      try {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        TOP = lookup.findVarHandle(WorkStealingDeque.class, "top", long.class);
+        BOTTOM = lookup.findVarHandle(WorkStealingDeque.class, "bottom", long.class);
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
+    private volatile long top = 0;
+    private volatile long bottom = 0;
+    private volatile Object[] array;
+
+    /**
+     * Creates an empty deque with room for 64 tasks before it grows.
+     */
+    public WorkStealingDeque() {
+      this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty deque.
+     *
+     * @param initialCapacity the number of tasks before the first growth, rounded up to a power of two
+     */
+    public WorkStealingDeque(int initialCapacity) {
+      if (initialCapacity < 1 || initialCapacity > MAX_CAPACITY) {
+        throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+      }
+      int capacity = Integer.highestOneBit(initialCapacity);
+      array = new Object[(capacity < initialCapacity) ? capacity << 1 : capacity];
+    }
+
+    /**
+     * Pushes a task at the bottom. Must only be called by the owner. Amortized O(1).
+     *
+     * @param task the task to push
+     */
+    public void push(T task) {
+      if (task == null) {
+        throw new NullPointerException("Task must not be null.");
+      }
+      long b = (long) BOTTOM.getOpaque(this);
+      long t = (long) TOP.getAcquire(this);
+      Object[] a = array;
+      if (b - t >= a.length) {
+        a = grow(a, t, b);
+      }
+      a[(int) b & (a.length - 1)] = task;
+      // Publishes the task to thieves that read bottom afterwards
+      BOTTOM.setRelease(this, b + 1);
+    }
+
+    /**
+     * Pops the newest task from the bottom. Must only be called by the owner.
+     *
+     * @return the newest task, or null if the deque is empty or a thief took the last task
+     */
+    @SuppressWarnings("unchecked")
+    public T pop() {
+      long b = (long) BOTTOM.getOpaque(this) - 1;
+      Object[] a = array;
+      // Volatile write then volatile read, so a thief either sees the new bottom or the owner sees its steal
+      bottom = b;
+      long t = top;
+      if (t > b) {
+        bottom = b + 1;
+        return null;
+      }
+      T task = (T) a[(int) b & (a.length - 1)];
+      if (t == b) {
+        // Last task: race the thieves for it
+        if (!TOP.compareAndSet(this, t, t + 1)) {
+          task = null;
+        }
+        bottom = b + 1;
+      }
+      return task;
+    }
+
+    /**
+     * Steals the oldest task from the top. Can be called by any thread.
+     *
+     * @return the oldest task, or null if the deque is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T steal() {
+      while (true) {
+        long t = top;
+        long b = bottom;
+        if (t >= b) {
+          return null;
+        }
+        Object[] a = array;
+        T task = (T) a[(int) t & (a.length - 1)];
+        if (TOP.compareAndSet(this, t, t + 1)) {
+          return task;
+        }
+        // Lost the race to another thief or to the owner, try the next task
+      }
+    }
+
+    /**
+     * Returns the number of tasks. Only a snapshot while other threads are active.
+     *
+     * @return the number of tasks in the deque
+     */
+    public int size() {
+      long b = bottom;
+      long t = top;
+      return (int) Math.max(0, b - t);
+    }
+
+    /**
+     * Checks if the deque is empty. Only a snapshot while other threads are active.
+     *
+     * @return {@code true} if the deque is empty
+     */
+    public boolean isEmpty() {
+      return size() == 0;
+    }
+
+    /**
+     * Returns the length of the current circular array.
+     *
+     * @return the number of tasks the deque holds before it grows
+     */
+    public int capacity() {
+      return array.length;
+    }
+
+    private Object[] grow(Object[] old, long t, long b) {
+      if (old.length == MAX_CAPACITY) {
+        throw new IllegalStateException("Deque is full");
+      }
+      Object[] grown = new Object[old.length << 1];
+      for (long i = t; i < b; i++) {
+        grown[(int) i & (grown.length - 1)] = old[(int) i & (old.length - 1)];
+      }
+      array = grown;
+      return grown;
+    }
+  }
+
+  public static void main(String[] args) {
+    WorkStealingDeque<String> deque = new WorkStealingDeque<>(2);
+    deque.push("a");
+    deque.push("b");
+    deque.push("c");
+    System.out.println("Size : " + deque.size() + ", capacity : " + deque.capacity());
+    System.out.println("Owner pops : " + deque.pop());
+    System.out.println("Thief steals : " + deque.steal());
+    System.out.println("Owner pops : " + deque.pop());
+    System.out.println("Owner pops on empty : " + deque.pop());
+  }
 }
@@ -1,5 +1,9 @@
 package org.example.queue.implementation;
 
+/**
+ * Circular queue backed by a fixed array of 5 elements, for learning purposes.
+ * For a concurrent, non-blocking version see {@link RingBuffer}.
+ */
 public class CircularQueueArray {
 
   public static class CQA {
@@ -15,7 +19,6 @@ public class CircularQueueArray {
       } else if (size == 0) {
         front = rear = 0;
         arr[rear] = value;
-        return;
       } else if (rear < arr.length - 1) {
         arr[++rear] = value;
       } else if (rear == arr.length - 1) {
@@ -65,7 +68,7 @@ public class CircularQueueArray {
           System.out.print(arr[i]+ " ");
         }
       }else {
-        for (int i=front;i<=rear;i++){
+        for (int i=front;i<arr.length;i++){
           System.out.print(arr[i]+ " ");
         }
         for(int i=0;i<=rear;i++){
@@ -1,5 +1,10 @@
 package org.example.queue.implementation;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 public class LinkedListImplementationQueue {
   /**
    * Represents a node in a singly linked list.
@@ -103,4 +108,300 @@ public class LinkedListImplementationQueue {
 
   }
 
+  /**
+   * Thread-safe, optionally bounded version of {@link QueueLL} whose consumers block instead of spinning.
+   *
+   * <p>Uses two locks: producers only take the put lock to link at the tail and consumers only take the
+   * take lock to unlink at the head, so they do not contend with each other. The head is a dummy node, which
+   * keeps the two ends apart even when the queue is empty, and the size is an atomic counter both sides update.
+   * {@link #drainTo(int[], int)} and {@link #addAll(int[])} move many elements per lock acquisition.
+   */
+  public static class BlockingQueueLL {
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+
+    Node head = new Node(0);   // Dummy node, head.next is the front element
+    Node tail = head;          // Points to the last node in the queue
+
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final Condition notFull = putLock.newCondition();
+
+    /**
+     * Creates an unbounded queue.
+     */
+    public BlockingQueueLL() {
+      this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a queue that holds at most {@code capacity} elements.
+     * @param capacity The maximum number of elements, greater than 0.
+     */
+    public BlockingQueueLL(int capacity) {
+      if (capacity <= 0) {
+        throw new IllegalArgumentException("Capacity must be greater than 0.");
+      }
+      this.capacity = capacity;
+    }
+
+    /**
+     * Adds an element to the end of the queue, waiting while the queue is full.
+     * @param data The integer value to be added to the queue.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(int data) throws InterruptedException {
+      Node newNode = new Node(data);
+      int previousSize;
+      putLock.lockInterruptibly();
+      try {
+        while (size.get() == capacity) {
+          notFull.await();
+        }
+        enqueue(newNode);
+        previousSize = size.getAndIncrement();
+        if (previousSize + 1 < capacity) {
+          notFull.signal();   // Let the next waiting producer in
+        }
+      } finally {
+        putLock.unlock();
+      }
+      if (previousSize == 0) {
+        signalNotEmpty();
+      }
+    }
+
+    /**
+     * Adds an element to the end of the queue, waiting up to the given time while the queue is full.
+     * @param data The integer value to be added to the queue.
+     * @param timeout How long to wait for room.
+     * @param unit The unit of the timeout.
+     * @return True if the element was added, false if the queue stayed full.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean offer(int data, long timeout, TimeUnit unit) throws InterruptedException {
+      long nanos = unit.toNanos(timeout);
+      Node newNode = new Node(data);
+      int previousSize;
+      putLock.lockInterruptibly();
+      try {
+        while (size.get() == capacity) {
+          if (nanos <= 0) {
+            return false;
+          }
+          nanos = notFull.awaitNanos(nanos);
+        }
+        enqueue(newNode);
+        previousSize = size.getAndIncrement();
+        if (previousSize + 1 < capacity) {
+          notFull.signal();
+        }
+      } finally {
+        putLock.unlock();
+      }
+      if (previousSize == 0) {
+        signalNotEmpty();
+      }
+      return true;
+    }
+
+    /**
+     * Adds all values to the end of the queue in order, linking as many as fit per lock acquisition.
+     * Waits while the queue is full.
+     * @param values The values to be added to the queue.
+     * @throws InterruptedException if interrupted while waiting; values added before that stay in the queue
+     */
+    public void addAll(int[] values) throws InterruptedException {
+      int i = 0;
+      while (i < values.length) {
+        int previousSize;
+        putLock.lockInterruptibly();
+        try {
+          while (size.get() == capacity) {
+            notFull.await();
+          }
+          int n = Math.min(values.length - i, capacity - size.get());
+          for (int k = 0; k < n; k++) {
+            enqueue(new Node(values[i++]));
+          }
+          previousSize = size.getAndAdd(n);
+          if (previousSize + n < capacity) {
+            notFull.signal();
+          }
+        } finally {
+          putLock.unlock();
+        }
+        if (previousSize == 0) {
+          signalNotEmpty();
+        }
+      }
+    }
+
+    /**
+     * Removes and returns the front element of the queue, waiting while the queue is empty.
+     * @return The value of the removed front element.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int take() throws InterruptedException {
+      int removedValue;
+      int previousSize;
+      takeLock.lockInterruptibly();
+      try {
+        while (size.get() == 0) {
+          notEmpty.await();
+        }
+        removedValue = dequeue();
+        previousSize = size.getAndDecrement();
+        if (previousSize > 1) {
+          notEmpty.signal();   // Let the next waiting consumer in
+        }
+      } finally {
+        takeLock.unlock();
+      }
+      if (previousSize == capacity) {
+        signalNotFull();
+      }
+      return removedValue;
+    }
+
+    /**
+     * Removes and returns the front element, waiting up to the given time while the queue is empty.
+     * @param timeout How long to wait for an element.
+     * @param unit The unit of the timeout.
+     * @param defaultValue The value to return if the queue stayed empty.
+     * @return The value of the removed front element, or {@code defaultValue} on timeout.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int pollOrDefault(long timeout, TimeUnit unit, int defaultValue) throws InterruptedException {
+      long nanos = unit.toNanos(timeout);
+      int removedValue;
+      int previousSize;
+      takeLock.lockInterruptibly();
+      try {
+        while (size.get() == 0) {
+          if (nanos <= 0) {
+            return defaultValue;
+          }
+          nanos = notEmpty.awaitNanos(nanos);
+        }
+        removedValue = dequeue();
+        previousSize = size.getAndDecrement();
+        if (previousSize > 1) {
+          notEmpty.signal();
+        }
+      } finally {
+        takeLock.unlock();
+      }
+      if (previousSize == capacity) {
+        signalNotFull();
+      }
+      return removedValue;
+    }
+
+    /**
+     * Removes up to {@code max} elements in one lock acquisition, without waiting.
+     * @param buf The array receiving the elements, front element first.
+     * @param max The maximum number of elements to remove, at most {@code buf.length}.
+     * @return The number of elements removed, 0 if the queue is empty.
+     */
+    public int drainTo(int[] buf, int max) {
+      int n = Math.min(max, buf.length);
+      if (n <= 0) {
+        return 0;
+      }
+      int previousSize;
+      takeLock.lock();
+      try {
+        n = Math.min(n, size.get());
+        for (int i = 0; i < n; i++) {
+          buf[i] = dequeue();
+        }
+        previousSize = size.getAndAdd(-n);
+        if (previousSize - n > 0) {
+          notEmpty.signal();
+        }
+      } finally {
+        takeLock.unlock();
+      }
+      if (n > 0 && previousSize == capacity) {
+        signalNotFull();
+      }
+      return n;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return The current size of the queue.
+     */
+    public int size() {
+      return size.get();
+    }
+
+    /**
+     * Checks whether the queue currently has no elements.
+     * @return True if the queue is empty.
+     */
+    public boolean isEmpty() {
+      return size.get() == 0;
+    }
+
+    private void enqueue(Node newNode) {
+      tail.next = newNode;
+      tail = newNode;
+    }
+
+    private int dequeue() {
+      Node first = head.next;
+      head.next = null;   // Unlink the old dummy so it can be collected
+      head = first;       // The front node becomes the new dummy
+      return first.value;
+    }
+
+    private void signalNotEmpty() {
+      takeLock.lock();
+      try {
+        notEmpty.signal();
+      } finally {
+        takeLock.unlock();
+      }
+    }
+
+    private void signalNotFull() {
+      putLock.lock();
+      try {
+        notFull.signal();
+      } finally {
+        putLock.unlock();
+      }
+    }
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    BlockingQueueLL queue = new BlockingQueueLL(1024);
+    Thread producer = new Thread(() -> {
+      int[] batch = new int[100];
+      try {
+        for (int i = 0; i < 10_000; i++) {
+          for (int k = 0; k < batch.length; k++) {
+            batch[k] = k;
+          }
+          queue.addAll(batch);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    producer.start();
+
+    int[] buf = new int[256];
+    long received = 0;
+    while (received < 1_000_000) {
+      queue.take();
+      received += 1 + queue.drainTo(buf, buf.length);
+    }
+    producer.join();
+    System.out.println("Received " + received + " elements");
+  }
+
 }
@@ -0,0 +1,332 @@
+package org.example.queue.implementation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable FIFO queue of byte records that survives restarts and is not limited by the heap,
+ * unlike {@link LinkedListImplementationQueue.QueueLL}.
+ *
+ * <p>Records are appended to segment files of a fixed size that are memory-mapped one at a time. Only the
+ * segment being written (tail) and the segment being read (head) are mapped; the segments in between stay
+ * on disk until the reader gets to them, and a segment is deleted once it has been read completely.
+ * Each record is stored as its length plus one, a CRC-32C of its bytes and the bytes themselves, so an unwritten
+ * slot reads as 0. The read position is kept in a small checkpoint file, together with the segment size and
+ * record format the queue was created with, so the queue cannot be reopened with a different one.
+ *
+ * <p>Changes reach the page cache immediately and are forced to disk every {@code syncEvery} records, or on
+ * {@link #sync()} and {@link #close()}. After a crash the queue reopens at the last forced read position,
+ * so records are delivered at least once. Records added after the last sync may be lost: the operating system
+ * writes dirty pages back in no fixed order, so after a power failure a length can reach the disk without its
+ * bytes. Reopening therefore checks every record of the tail segment against its CRC and truncates the queue at
+ * the first one that does not match. All methods are synchronized.
+ */
+public class PersistentQueue implements Closeable {
+  private static final int LENGTH_BYTES = 4;
+  private static final int HEADER_BYTES = LENGTH_BYTES + Integer.BYTES;   // length, CRC
+  private static final int END_OF_SEGMENT = -1;
+  private static final String SEGMENT_SUFFIX = ".segment";
+  private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}\\.segment");
+  private static final String CHECKPOINT_FILE = "head.checkpoint";
+  // Checkpoint layout: head segment, head offset, segment size, record format
+  private static final int HEAD_SEGMENT_AT = 0;
+  private static final int HEAD_OFFSET_AT = HEAD_SEGMENT_AT + Long.BYTES;
+  private static final int SEGMENT_SIZE_AT = HEAD_OFFSET_AT + Integer.BYTES;
+  private static final int FORMAT_AT = SEGMENT_SIZE_AT + Integer.BYTES;
+  private static final int CHECKPOINT_BYTES = FORMAT_AT + Integer.BYTES;
+  private static final int RECORD_FORMAT = 1;   // records carry a CRC
+
+  private final Path directory;
+  private final int segmentSize;
+  private final int syncEvery;
+  private final MappedByteBuffer checkpoint;
+
+  private long headSegment;
+  private int headOffset;
+  private MappedByteBuffer headBuffer;
+
+  private long tailSegment;
+  private int tailOffset;
+  private MappedByteBuffer tailBuffer;
+
+  private final CRC32C crc = new CRC32C();
+  private int unsynced = 0;
+
+  /**
+   * Opens the queue stored in {@code directory}, creating it if needed, and recovers the head and tail.
+   *
+   * @param directory   the directory holding the segment files
+   * @param segmentSize the size of each segment file in bytes; a record can be at most this minus 12 bytes
+   * @param syncEvery   force changes to disk after this many added records, or 0 to only sync explicitly
+   * @throws IOException              if the files cannot be created or mapped, or hold segments without a
+   *                                  checkpoint recording their format
+   * @throws IllegalArgumentException if the queue in {@code directory} was created with another segment size
+   */
+  public PersistentQueue(Path directory, int segmentSize, int syncEvery) throws IOException {
+    if (segmentSize < HEADER_BYTES + LENGTH_BYTES + 1) {
+      throw new IllegalArgumentException("Segment size is too small.");
+    }
+    if (syncEvery < 0) {
+      throw new IllegalArgumentException("Sync interval must not be negative.");
+    }
+    this.directory = Files.createDirectories(directory);
+    this.segmentSize = segmentSize;
+    this.syncEvery = syncEvery;
+    this.checkpoint = map(directory.resolve(CHECKPOINT_FILE), CHECKPOINT_BYTES);
+
+    List<Long> segments = listSegments();
+    if (!segments.isEmpty() && checkpoint.getInt(FORMAT_AT) != RECORD_FORMAT) {
+      throw new IOException("Segments in " + directory + " were not written in record format " + RECORD_FORMAT);
+    }
+    int storedSize = checkpoint.getInt(SEGMENT_SIZE_AT);
+    if (!segments.isEmpty() && storedSize != segmentSize) {
+      throw new IllegalArgumentException(
+          "Queue was created with " + storedSize + " byte segments, not " + segmentSize + ".");
+    }
+    checkpoint.putInt(SEGMENT_SIZE_AT, segmentSize);
+    checkpoint.putInt(FORMAT_AT, RECORD_FORMAT);
+    if (segments.isEmpty()) {
+      segments.add(0L);
+    }
+    long firstSegment = segments.get(0);
+    long lastSegment = segments.get(segments.size() - 1);
+
+    headSegment = checkpoint.getLong(HEAD_SEGMENT_AT);
+    headOffset = checkpoint.getInt(HEAD_OFFSET_AT);
+    if (headSegment < firstSegment || headSegment > lastSegment) {
+      headSegment = firstSegment;
+      headOffset = 0;
+    }
+
+    tailSegment = lastSegment;
+    tailBuffer = map(segmentPath(tailSegment), segmentSize);
+    tailOffset = (headSegment == tailSegment) ? headOffset : 0;
+    while (tailOffset + LENGTH_BYTES <= segmentSize) {
+      int stored = tailBuffer.getInt(tailOffset);
+      if (stored <= 0) {
+        break;   // unwritten slot, or an end marker whose next segment was never created
+      }
+      if (!isIntact(tailOffset, stored - 1)) {
+        // Torn by a power failure: drop it and everything after, so no stale record can reappear behind it
+        clear(tailBuffer, tailOffset);
+        tailBuffer.force();
+        break;
+      }
+      tailOffset += HEADER_BYTES + stored - 1;
+    }
+    headBuffer = (headSegment == tailSegment) ? tailBuffer : map(segmentPath(headSegment), segmentSize);
+    writeCheckpoint();
+  }
+
+  /**
+   * Appends a record to the tail of the queue.
+   *
+   * @param data the bytes of the record
+   */
+  public synchronized void add(byte[] data) {
+    int needed = HEADER_BYTES + data.length;
+    if (needed > segmentSize - LENGTH_BYTES) {
+      throw new IllegalArgumentException("Record is larger than a segment.");
+    }
+    if (tailOffset + needed > segmentSize) {
+      rollTail();
+    }
+    crc.reset();
+    crc.update(data);
+    tailBuffer.putInt(tailOffset + LENGTH_BYTES, (int) crc.getValue());
+    tailBuffer.put(tailOffset + HEADER_BYTES, data);
+    // The length goes in last, so a record cut short by a process crash still reads as unwritten; after a power
+    // failure the pages may reach the disk in any order, which the CRC catches when the queue is reopened
+    tailBuffer.putInt(tailOffset, data.length + 1);
+    tailOffset += needed;
+    if (syncEvery > 0 && ++unsynced >= syncEvery) {
+      sync();
+    }
+  }
+
+  /**
+   * Removes and returns the record at the head of the queue.
+   *
+   * @return the bytes of the record, or null if the queue is empty
+   */
+  public synchronized byte[] poll() {
+    while (true) {
+      if (headSegment == tailSegment && headOffset == tailOffset) {
+        return null;
+      }
+      int stored = (headOffset + LENGTH_BYTES <= segmentSize) ? headBuffer.getInt(headOffset) : END_OF_SEGMENT;
+      if (stored == END_OF_SEGMENT) {
+        advanceHead();
+        continue;
+      }
+      byte[] data = new byte[stored - 1];
+      headBuffer.get(headOffset + HEADER_BYTES, data);
+      headOffset += HEADER_BYTES + data.length;
+      writeCheckpoint();
+      return data;
+    }
+  }
+
+  /**
+   * Checks whether every record has been read.
+   *
+   * @return true if the queue is empty
+   */
+  public synchronized boolean isEmpty() {
+    if (headSegment == tailSegment) {
+      return headOffset == tailOffset;
+    }
+    // The head may sit on an end marker with only empty segments after it
+    return headSegment + 1 == tailSegment && tailOffset == 0
+        && (headOffset + LENGTH_BYTES > segmentSize || headBuffer.getInt(headOffset) == END_OF_SEGMENT);
+  }
+
+  /**
+   * Forces every added record and the read position to disk.
+   */
+  public synchronized void sync() {
+    tailBuffer.force();
+    checkpoint.force();
+    unsynced = 0;
+  }
+
+  /**
+   * Syncs the queue. The mapped segments are released when they become unreachable.
+   */
+  @Override
+  public synchronized void close() {
+    sync();
+  }
+
+  private void rollTail() {
+    if (tailOffset + LENGTH_BYTES <= segmentSize) {
+      tailBuffer.putInt(tailOffset, END_OF_SEGMENT);
+    }
+    tailBuffer.force();
+    tailSegment++;
+    tailOffset = 0;
+    tailBuffer = map(segmentPath(tailSegment), segmentSize);
+  }
+
+  private void advanceHead() {
+    Path finished = segmentPath(headSegment);
+    headSegment++;
+    headOffset = 0;
+    headBuffer = (headSegment == tailSegment) ? tailBuffer : map(segmentPath(headSegment), segmentSize);
+    writeCheckpoint();
+    try {
+      Files.deleteIfExists(finished);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Checks that the record at {@code offset} of the tail segment fits in the segment and matches its CRC.
+   */
+  private boolean isIntact(int offset, int length) {
+    if (length > segmentSize - HEADER_BYTES - offset) {
+      return false;
+    }
+    byte[] data = new byte[length];
+    tailBuffer.get(offset + HEADER_BYTES, data);
+    crc.reset();
+    crc.update(data);
+    return tailBuffer.getInt(offset + LENGTH_BYTES) == (int) crc.getValue();
+  }
+
+  private static void clear(MappedByteBuffer buffer, int from) {
+    byte[] zeros = new byte[Math.min(4096, buffer.capacity() - from)];
+    for (int offset = from; offset < buffer.capacity(); offset += zeros.length) {
+      buffer.put(offset, zeros, 0, Math.min(zeros.length, buffer.capacity() - offset));
+    }
+  }
+
+  private void writeCheckpoint() {
+    checkpoint.putLong(HEAD_SEGMENT_AT, headSegment);
+    checkpoint.putInt(HEAD_OFFSET_AT, headOffset);
+  }
+
+  private Path segmentPath(long segment) {
+    return directory.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+  }
+
+  /**
+   * Lists the segment numbers in the directory, oldest first. Only names written by {@link #segmentPath(long)}
+   * count, so editor backups or temporary files that happen to end in {@code .segment} are ignored.
+   */
+  private List<Long> listSegments() throws IOException {
+    List<Long> segments = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files.map(path -> path.getFileName().toString())
+          .filter(name -> SEGMENT_NAME.matcher(name).matches())
+          .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+          .sorted(Comparator.naturalOrder())
+          .forEach(segments::add);
+    }
+    return segments;
+  }
+
+  /**
+   * Maps a file of the given size, creating it if needed. The mapping stays valid after the channel is closed.
+   */
+  private static MappedByteBuffer map(Path file, int size) {
+    try (FileChannel channel = FileChannel.open(file,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes and reads back a million 100 byte records, reopening the queue in between,
+   * and prints the throughput in MB/s.
+   *
+   * @param args command line arguments (not used)
+   * @throws IOException if the temporary directory cannot be used
+   */
+  public static void main(String[] args) throws IOException {
+    Path directory = Files.createTempDirectory("queue");
+    int count = 1_000_000;
+    byte[] record = new byte[100];
+    double megabytes = (double) count * record.length / (1024 * 1024);
+
+    long start = System.nanoTime();
+    try (PersistentQueue queue = new PersistentQueue(directory, 16 * 1024 * 1024, 10_000)) {
+      for (int i = 0; i < count; i++) {
+        queue.add(record);
+      }
+    }
+    System.out.printf("Write : %.1f MB/s%n", megabytes / ((System.nanoTime() - start) / 1e9));
+
+    start = System.nanoTime();
+    int read = 0;
+    try (PersistentQueue queue = new PersistentQueue(directory, 16 * 1024 * 1024, 10_000)) {
+      while (queue.poll() != null) {
+        read++;
+      }
+    }
+    System.out.printf("Read after reopen : %.1f MB/s, %d records%n",
+        megabytes / ((System.nanoTime() - start) / 1e9), read);
+
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+}
@@ -0,0 +1,296 @@
+package org.example.queue.implementation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Bounded lock-free ring buffers of {@code int} values, the concurrent replacement for
+ * {@link CircularQueueArray.CQA}.
+ *
+ * <p>The capacity is rounded up to a power of two so a slot is found with {@code sequence & mask}
+ * instead of a division. Head and tail are ever-increasing sequences that sit on their own cache
+ * lines, so producers and consumers do not invalidate each other's line on every operation.
+ * {@link Spsc} is for exactly one producer and one consumer thread, {@link Mpmc} for any number of each.
+ * Neither blocks: {@code offer} returns false when full and {@code pollOrDefault} returns the default when empty.
+ */
+public class RingBuffer {
+
+  /**
+   * Padding before the consumer fields, at least a cache line wide.
+   */
+  abstract static class HeadPad {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+  }
+
+  /**
+   * Fields written by consumers.
+   */
+  abstract static class HeadFields extends HeadPad {
+    static final VarHandle HEAD;
+
+    volatile long head;
+    long cachedTail;
+
+    static {
+      try {
+        HEAD = MethodHandles.lookup().findVarHandle(HeadFields.class, "head", long.class);
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+  }
+
+  /**
+   * Padding between the consumer and producer fields.
+   */
+  abstract static class TailPad extends HeadFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+  }
+
+  /**
+   * Fields written by producers.
+   */
+  abstract static class TailFields extends TailPad {
+    static final VarHandle TAIL;
+
+    volatile long tail;
+    long cachedHead;
+
+    static {
+      try {
+        TAIL = MethodHandles.lookup().findVarHandle(TailFields.class, "tail", long.class);
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+  }
+
+  /**
+   * Padding after the producer fields, and the state shared by both ring buffers.
+   */
+  abstract static class Ring extends TailFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    final int[] buffer;
+    final int mask;
+
+    Ring(int capacity) {
+      if (capacity < 1 || capacity > 1 << 30) {
+        throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+      }
+      int size = Integer.highestOneBit(capacity);
+      if (size < capacity) {
+        size <<= 1;
+      }
+      buffer = new int[size];
+      mask = size - 1;
+    }
+
+    /**
+     * Returns the capacity of the buffer, the requested capacity rounded up to a power of two.
+     *
+     * @return the maximum number of elements
+     */
+    public int capacity() {
+      return buffer.length;
+    }
+
+    /**
+     * Returns the number of elements. Only a snapshot while other threads are active.
+     *
+     * @return the number of elements in the buffer
+     */
+    public int size() {
+      while (true) {
+        long before = head;
+        long currentTail = tail;
+        if (head == before) {
+          return (int) Math.max(0, Math.min(currentTail - before, buffer.length));
+        }
+      }
+    }
+
+    /**
+     * Checks if the buffer is empty. Only a snapshot while other threads are active.
+     *
+     * @return {@code true} if the buffer is empty
+     */
+    public boolean isEmpty() {
+      return size() == 0;
+    }
+
+    /**
+     * Adds a value if there is room.
+     *
+     * @param value the value to add
+     * @return {@code true} if the value was added, {@code false} if the buffer is full
+     */
+    public abstract boolean offer(int value);
+
+    /**
+     * Removes and returns the oldest value.
+     *
+     * @param defaultValue the value to return when the buffer is empty
+     * @return the oldest value, or {@code defaultValue} if the buffer is empty
+     */
+    public abstract int pollOrDefault(int defaultValue);
+  }
+
+  /**
+   * Single-producer single-consumer ring buffer. Each side owns its sequence and only reads the
+   * other side's volatile sequence when its cached copy says the buffer is full or empty.
+   */
+  public static class Spsc extends Ring {
+
+    /**
+     * Creates a ring buffer.
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two
+     */
+    public Spsc(int capacity) {
+      super(capacity);
+    }
+
+    /**
+     * Adds a value if there is room. Must only be called by the producer thread.
+     *
+     * @param value the value to add
+     * @return {@code true} if the value was added, {@code false} if the buffer is full
+     */
+    @Override
+    public boolean offer(int value) {
+      long currentTail = (long) TAIL.getOpaque(this);
+      if (currentTail - cachedHead == buffer.length) {
+        cachedHead = (long) HEAD.getAcquire(this);
+        if (currentTail - cachedHead == buffer.length) {
+          return false;
+        }
+      }
+      buffer[(int) currentTail & mask] = value;
+      TAIL.setRelease(this, currentTail + 1);
+      return true;
+    }
+
+    /**
+     * Removes and returns the oldest value. Must only be called by the consumer thread.
+     *
+     * @param defaultValue the value to return when the buffer is empty
+     * @return the oldest value, or {@code defaultValue} if the buffer is empty
+     */
+    @Override
+    public int pollOrDefault(int defaultValue) {
+      long currentHead = (long) HEAD.getOpaque(this);
+      if (currentHead == cachedTail) {
+        cachedTail = (long) TAIL.getAcquire(this);
+        if (currentHead == cachedTail) {
+          return defaultValue;
+        }
+      }
+      int value = buffer[(int) currentHead & mask];
+      HEAD.setRelease(this, currentHead + 1);
+      return value;
+    }
+  }
+
+  /**
+   * Multi-producer multi-consumer ring buffer. Every slot carries a sequence number telling whether
+   * it is ready to be written or read for a given lap, so threads claim slots with one compare-and-set
+   * on the head or tail and never wait for each other.
+   */
+  public static class Mpmc extends Ring {
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] sequences;
+
+    /**
+     * Creates a ring buffer.
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two
+     */
+    public Mpmc(int capacity) {
+      super(capacity);
+      sequences = new long[buffer.length];
+      for (int i = 0; i < sequences.length; i++) {
+        sequences[i] = i;
+      }
+    }
+
+    @Override
+    public boolean offer(int value) {
+      long currentTail = tail;
+      while (true) {
+        int index = (int) currentTail & mask;
+        long sequence = (long) SEQUENCE.getAcquire(sequences, index);
+        long difference = sequence - currentTail;
+        if (difference == 0) {
+          if (TAIL.compareAndSet(this, currentTail, currentTail + 1)) {
+            buffer[index] = value;
+            SEQUENCE.setRelease(sequences, index, currentTail + 1);
+            return true;
+          }
+          currentTail = tail;
+        } else if (difference < 0) {
+          return false;
+        } else {
+          currentTail = tail;
+        }
+      }
+    }
+
+    @Override
+    public int pollOrDefault(int defaultValue) {
+      long currentHead = head;
+      while (true) {
+        int index = (int) currentHead & mask;
+        long sequence = (long) SEQUENCE.getAcquire(sequences, index);
+        long difference = sequence - (currentHead + 1);
+        if (difference == 0) {
+          if (HEAD.compareAndSet(this, currentHead, currentHead + 1)) {
+            int value = buffer[index];
+            SEQUENCE.setRelease(sequences, index, currentHead + buffer.length);
+            return value;
+          }
+          currentHead = head;
+        } else if (difference < 0) {
+          return defaultValue;
+        } else {
+          currentHead = head;
+        }
+      }
+    }
+  }
+
+  /**
+   * Passes ten million values from one producer to one consumer through each ring buffer
+   * and prints the throughput.
+   *
+   * @param args command line arguments (not used)
+   * @throws InterruptedException if interrupted while waiting for the producer
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int count = 10_000_000;
+    for (Ring ring : new Ring[]{new Spsc(1024), new Mpmc(1024)}) {
+      Thread producer = new Thread(() -> {
+        for (int i = 0; i < count; i++) {
+          while (!ring.offer(i)) {
+            Thread.yield();
+          }
+        }
+      });
+      long start = System.nanoTime();
+      producer.start();
+      long sum = 0;
+      for (int i = 0; i < count; i++) {
+        int value;
+        while ((value = ring.pollOrDefault(-1)) == -1) {
+          Thread.yield();
+        }
+        sum += value;
+      }
+      producer.join();
+      long elapsed = System.nanoTime() - start;
+      System.out.println(ring.getClass().getSimpleName() + " : " + (count * 1_000_000_000L / elapsed)
+          + " ops/sec, sum " + sum);
+    }
+  }
+}
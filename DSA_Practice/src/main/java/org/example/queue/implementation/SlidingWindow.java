@@ -0,0 +1,141 @@
+package org.example.queue.implementation;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Minimum and maximum of the last {@code size} values of an {@code int} stream, each in amortized O(1)
+ * per value instead of scanning the whole window.
+ *
+ * <p>Each extreme is tracked by a {@link MonotonicDeque}. A new value first drops every value at the back
+ * that it beats, since those can never be the answer again, and values at the front that have left the
+ * window are dropped as well. The front is then always the answer. Every value is added and dropped at
+ * most once, and no memory is allocated after construction.
+ */
+public class SlidingWindow {
+  private final MonotonicDeque minDeque;
+  private final MonotonicDeque maxDeque;
+  private long count = 0;
+
+  /**
+   * Creates a window over the most recent values.
+   *
+   * @param size the number of most recent values the window covers
+   */
+  public SlidingWindow(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Window size must be greater than 0.");
+    }
+    minDeque = new MonotonicDeque(size, true);
+    maxDeque = new MonotonicDeque(size, false);
+  }
+
+  /**
+   * Adds the next value of the stream, pushing the oldest one out of a full window. Amortized O(1).
+   *
+   * @param value the next value
+   */
+  public void add(int value) {
+    minDeque.add(value, count);
+    maxDeque.add(value, count);
+    count++;
+  }
+
+  /**
+   * Returns the smallest value in the window.
+   *
+   * @return the smallest of the most recent values
+   * @throws NoSuchElementException if no value has been added yet
+   */
+  public int min() {
+    return minDeque.front();
+  }
+
+  /**
+   * Returns the largest value in the window.
+   *
+   * @return the largest of the most recent values
+   * @throws NoSuchElementException if no value has been added yet
+   */
+  public int max() {
+    return maxDeque.front();
+  }
+
+  /**
+   * Returns how many values have been added in total.
+   *
+   * @return the number of values seen
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Deque of values increasing from front to back (or decreasing, for a maximum), stored with their
+   * position in the stream on a circular array as large as the window.
+   */
+  static class MonotonicDeque {
+    private final int window;
+    private final boolean minimum;
+    private final int[] values;
+    private final long[] positions;
+    private int front = 0;
+    private int size = 0;
+
+    MonotonicDeque(int window, boolean minimum) {
+      this.window = window;
+      this.minimum = minimum;
+      this.values = new int[window];
+      this.positions = new long[window];
+    }
+
+    void add(int value, long position) {
+      // Drop the front if it has left the window
+      if (size > 0 && positions[front] <= position - window) {
+        front = next(front);
+        size--;
+      }
+      // Drop values at the back the new value beats
+      while (size > 0) {
+        int back = values[index(size - 1)];
+        if (minimum ? back < value : back > value) {
+          break;
+        }
+        size--;
+      }
+      int slot = index(size);
+      values[slot] = value;
+      positions[slot] = position;
+      size++;
+    }
+
+    int front() {
+      if (size == 0) {
+        throw new NoSuchElementException("Window is empty");
+      }
+      return values[front];
+    }
+
+    private int index(int offset) {
+      int i = front + offset;
+      return (i >= window) ? i - window : i;
+    }
+
+    private int next(int i) {
+      return (i + 1 == window) ? 0 : i + 1;
+    }
+  }
+
+  /**
+   * Prints the minimum and maximum over a window of three after each value of a short stream.
+   *
+   * @param args command line arguments (not used)
+   */
+  public static void main(String[] args) {
+    SlidingWindow window = new SlidingWindow(3);
+    int[] stream = {4, 2, 12, 11, -5, 7, 3};
+    for (int value : stream) {
+      window.add(value);
+      System.out.println("Added " + value + " -> min " + window.min() + ", max " + window.max());
+    }
+  }
+}
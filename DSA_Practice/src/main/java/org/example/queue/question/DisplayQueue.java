@@ -1,5 +1,111 @@
 package org.example.queue.question;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.example.queue.implementation.CircularQueue.WorkStealingDeque;
+
+/**
+ * Stress test for {@link WorkStealingDeque}: one owner pushes and pops while several thieves steal,
+ * and every result is checked against what a sequential deque could have returned.
+ *
+ * <ul>
+ *   <li>Every pushed value is taken exactly once.</li>
+ *   <li>The owner's pops are LIFO: a pop returns the newest value the owner has not taken itself,
+ *   since thieves can only take older ones.</li>
+ *   <li>Steals are FIFO: every thief sees increasing values, because values are pushed in increasing order
+ *   and {@code top} never moves back.</li>
+ * </ul>
+ */
 public class DisplayQueue {
 
+  public static void main(String[] args) throws InterruptedException {
+    int rounds = 20;
+    int values = 200_000;
+    int thieves = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+    for (int round = 1; round <= rounds; round++) {
+      run(values, thieves);
+    }
+    System.out.println("Passed " + rounds + " rounds of " + values + " values with " + thieves + " thieves");
+  }
+
+  private static void run(int values, int thieves) throws InterruptedException {
+    WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(4);
+    AtomicIntegerArray taken = new AtomicIntegerArray(values);
+    AtomicBoolean done = new AtomicBoolean(false);
+    List<String> errors = new ArrayList<>();
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < thieves; i++) {
+      Thread thief = new Thread(() -> {
+        int last = -1;
+        while (true) {
+          boolean finished = done.get();
+          Integer value = deque.steal();
+          if (value == null) {
+            if (finished) {
+              return;
+            }
+            Thread.yield();
+            continue;
+          }
+          if (value <= last) {
+            record(errors, "Steal out of order: " + value + " after " + last);
+          }
+          last = value;
+          taken.incrementAndGet(value);
+        }
+      });
+      threads.add(thief);
+      thief.start();
+    }
+
+    // Values the owner has pushed and not popped itself, newest last
+    ArrayDeque<Integer> shadow = new ArrayDeque<>();
+    int next = 0;
+    long seed = 42;
+    while (next < values) {
+      seed = seed * 6364136223846793005L + 1442695040888963407L;
+      int pushes = (int) ((seed >>> 33) & 7);
+      int pops = (int) ((seed >>> 40) & 7);
+      for (int i = 0; i < pushes && next < values; i++) {
+        deque.push(next);
+        shadow.addLast(next++);
+      }
+      for (int i = 0; i < pops; i++) {
+        Integer value = deque.pop();
+        if (value == null) {
+          // Everything the owner did not pop was stolen
+          shadow.clear();
+          break;
+        }
+        Integer expected = shadow.pollLast();
+        if (!value.equals(expected)) {
+          record(errors, "Pop returned " + value + ", expected " + expected);
+        }
+        taken.incrementAndGet(value);
+      }
+    }
+    done.set(true);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (int i = 0; i < values; i++) {
+      if (taken.get(i) != 1) {
+        record(errors, "Value " + i + " taken " + taken.get(i) + " times");
+      }
+    }
+    if (!errors.isEmpty()) {
+      throw new AssertionError(errors.size() + " errors, first: " + errors.get(0));
+    }
+  }
+
+  private static void record(List<String> errors, String error) {
+    synchronized (errors) {
+      errors.add(error);
+    }
+  }
 }
@@ -0,0 +1,113 @@
+package org.example.recursion;
+
+import java.math.BigInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Recursive function that caches its results in a {@link ConcurrentHashMap}, so overlapping subproblems are
+ * computed once and threads can share the cache.
+ *
+ * <p>The body receives the memoized function itself to make its recursive calls through:
+ *
+ * <pre>{@code
+ * Memoizer<Integer, Long> fib = Memoizer.of((self, n) -> (n < 2) ? n : self.apply(n - 1) + self.apply(n - 2));
+ * }</pre>
+ *
+ * <p>The cache is filled with {@code putIfAbsent} after the body returns rather than with
+ * {@code computeIfAbsent}, because the body's recursive calls would modify the map from inside a compute,
+ * which {@link ConcurrentHashMap} rejects. Two threads may therefore compute the same key at the same time;
+ * the body must be a pure function so that either result is correct. Null results are not cached. The
+ * recursion is still as deep as the body's, so a cold call on a deep chain should warm the cache bottom-up
+ * first.
+ *
+ * @param <K> the type of the arguments
+ * @param <V> the type of the results
+ */
+public final class Memoizer<K, V> implements Function<K, V> {
+  private final ConcurrentHashMap<K, V> cache = new ConcurrentHashMap<>();
+  private final BiFunction<Function<K, V>, K, V> body;
+
+  private Memoizer(BiFunction<Function<K, V>, K, V> body) {
+    this.body = body;
+  }
+
+  /**
+   * Creates a memoized recursive function.
+   *
+   * @param body the function, given itself for its recursive calls and the argument
+   * @param <K>  the type of the arguments
+   * @param <V>  the type of the results
+   * @return the memoized function
+   */
+  public static <K, V> Memoizer<K, V> of(BiFunction<Function<K, V>, K, V> body) {
+    if (body == null) {
+      throw new NullPointerException("Body must not be null.");
+    }
+    return new Memoizer<>(body);
+  }
+
+  @Override
+  public V apply(K key) {
+    V value = cache.get(key);
+    if (value != null) {
+      return value;
+    }
+    value = body.apply(this, key);
+    if (value == null) {
+      return null;
+    }
+    V previous = cache.putIfAbsent(key, value);
+    return (previous != null) ? previous : value;
+  }
+
+  /**
+   * Returns the number of cached results.
+   *
+   * @return the cache size
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * Drops every cached result.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * Computes the 5,000th Fibonacci number, warming the cache in steps so the recursion stays shallow, and
+   * counts lattice paths through a grid from several threads sharing one cache.
+   *
+   * @param args command line arguments (not used)
+   * @throws InterruptedException if interrupted while waiting for the threads
+   */
+  public static void main(String[] args) throws InterruptedException {
+    Memoizer<Integer, BigInteger> fib = of((self, n) -> (n < 2) ? BigInteger.valueOf(n)
+        : self.apply(n - 1).add(self.apply(n - 2)));
+    for (int n = 0; n <= 5_000; n += 500) {
+      fib.apply(n);
+    }
+    System.out.println("fib(5000) has " + fib.apply(5_000).toString().length() + " digits, "
+        + fib.size() + " cached");
+
+    record Cell(int row, int col) {
+    }
+    Memoizer<Cell, BigInteger> paths = of((self, cell) -> (cell.row() == 0 || cell.col() == 0) ? BigInteger.ONE
+        : self.apply(new Cell(cell.row() - 1, cell.col())).add(self.apply(new Cell(cell.row(), cell.col() - 1))));
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      int size = 100 + 25 * i;
+      threads[i] = new Thread(() -> System.out.println(size + "x" + size + " grid : "
+          + paths.apply(new Cell(size, size)).bitLength() + "-bit path count"));
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    System.out.println(paths.size() + " cells cached");
+  }
+}
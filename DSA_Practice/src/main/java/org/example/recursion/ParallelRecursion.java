@@ -0,0 +1,203 @@
+package org.example.recursion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * Divide-and-conquer recursion run on a {@link ForkJoinPool}.
+ *
+ * <p>A range or problem is split in halves until the pieces are below a sequential cutoff; each split forks
+ * one half and computes the other on the current thread, and idle workers steal the forked halves. The
+ * recursion is only {@code log2(size / cutoff)} deep, so it cannot overflow the stack, and the cutoff keeps
+ * the tasks coarse enough that forking costs far less than the work in them.
+ */
+public final class ParallelRecursion {
+  /** Default number of range elements below which a piece is computed with a plain loop. */
+  public static final long DEFAULT_CUTOFF = 10_000;
+
+  private ParallelRecursion() {
+  }
+
+  /**
+   * Sums the natural numbers in a range, the parallel counterpart of {@code Recursion1.sum}.
+   *
+   * @param fromInclusive the first number
+   * @param toExclusive   one past the last number
+   * @return the sum of the range
+   */
+  public static long sum(long fromInclusive, long toExclusive) {
+    return reduce(fromInclusive, toExclusive, LongUnaryOperator.identity(), 0, Long::sum, DEFAULT_CUTOFF);
+  }
+
+  /**
+   * Maps every index of a range and combines the results, in parallel.
+   *
+   * @param fromInclusive the first index
+   * @param toExclusive   one past the last index
+   * @param mapper        the value of an index
+   * @param identity      the result of an empty range
+   * @param combiner      an associative function combining two results
+   * @param cutoff        the range size below which a piece is computed sequentially
+   * @return the combined result
+   */
+  public static long reduce(long fromInclusive, long toExclusive, LongUnaryOperator mapper, long identity,
+      LongBinaryOperator combiner, long cutoff) {
+    if (cutoff < 1) {
+      throw new IllegalArgumentException("Cutoff must be greater than 0.");
+    }
+    if (toExclusive <= fromInclusive) {
+      return identity;
+    }
+    return ForkJoinPool.commonPool()
+        .invoke(new RangeTask(fromInclusive, toExclusive, mapper, identity, combiner, cutoff));
+  }
+
+  /**
+   * Solves a problem by divide and conquer: problems that are small enough are solved directly, others are
+   * split into subproblems that are solved in parallel and whose results are combined.
+   *
+   * @param problem  the problem
+   * @param isSmall  whether a problem should be solved directly rather than split
+   * @param direct   solves a small problem
+   * @param split    splits a large problem into at least two subproblems
+   * @param combine  combines the results of two subproblems, in the order of {@code split}
+   * @param <P>      the type of the problems
+   * @param <R>      the type of the results
+   * @return the result of the problem
+   */
+  public static <P, R> R solve(P problem, Predicate<P> isSmall, Function<P, R> direct,
+      Function<P, List<P>> split, BinaryOperator<R> combine) {
+    return ForkJoinPool.commonPool().invoke(new SolveTask<>(problem, isSmall, direct, split, combine));
+  }
+
+  /**
+   * Range reduction that halves itself until it is below the cutoff.
+   */
+  private static final class RangeTask extends RecursiveTask<Long> {
+    private final long from;
+    private final long to;
+    private final LongUnaryOperator mapper;
+    private final long identity;
+    private final LongBinaryOperator combiner;
+    private final long cutoff;
+
+    RangeTask(long from, long to, LongUnaryOperator mapper, long identity, LongBinaryOperator combiner,
+        long cutoff) {
+      this.from = from;
+      this.to = to;
+      this.mapper = mapper;
+      this.identity = identity;
+      this.combiner = combiner;
+      this.cutoff = cutoff;
+    }
+
+    @Override
+    protected Long compute() {
+      if (to - from <= cutoff) {
+        long result = identity;
+        for (long i = from; i < to; i++) {
+          result = combiner.applyAsLong(result, mapper.applyAsLong(i));
+        }
+        return result;
+      }
+      long mid = from + (to - from) / 2;
+      RangeTask left = new RangeTask(from, mid, mapper, identity, combiner, cutoff);
+      left.fork();
+      long right = new RangeTask(mid, to, mapper, identity, combiner, cutoff).compute();
+      return combiner.applyAsLong(left.join(), right);
+    }
+  }
+
+  /**
+   * Generic divide-and-conquer step: forks every subproblem but the last, which it solves itself.
+   */
+  private static final class SolveTask<P, R> extends RecursiveTask<R> {
+    private final P problem;
+    private final Predicate<P> isSmall;
+    private final Function<P, R> direct;
+    private final Function<P, List<P>> split;
+    private final BinaryOperator<R> combine;
+
+    SolveTask(P problem, Predicate<P> isSmall, Function<P, R> direct, Function<P, List<P>> split,
+        BinaryOperator<R> combine) {
+      this.problem = problem;
+      this.isSmall = isSmall;
+      this.direct = direct;
+      this.split = split;
+      this.combine = combine;
+    }
+
+    @Override
+    protected R compute() {
+      if (isSmall.test(problem)) {
+        return direct.apply(problem);
+      }
+      List<P> parts = split.apply(problem);
+      if (parts.size() < 2) {
+        throw new IllegalStateException("Split must produce at least two subproblems.");
+      }
+      List<SolveTask<P, R>> forked = new ArrayList<>(parts.size() - 1);
+      for (int i = 0; i < parts.size() - 1; i++) {
+        SolveTask<P, R> task = new SolveTask<>(parts.get(i), isSmall, direct, split, combine);
+        task.fork();
+        forked.add(task);
+      }
+      R last = new SolveTask<>(parts.get(parts.size() - 1), isSmall, direct, split, combine).compute();
+      R result = forked.get(0).join();
+      for (int i = 1; i < forked.size(); i++) {
+        result = combine.apply(result, forked.get(i).join());
+      }
+      return combine.apply(result, last);
+    }
+  }
+
+  /**
+   * Sums a billion numbers with a loop and with {@link #sum(long, long)}, and finds the maximum of an array
+   * with {@link #solve}, printing the time of each.
+   *
+   * @param args optional range size, 1,000,000,000 by default
+   */
+  public static void main(String[] args) {
+    long n = (args.length > 0) ? Long.parseLong(args[0]) : 1_000_000_000L;
+    for (int round = 0; round < 3; round++) {
+      long start = System.nanoTime();
+      long sequential = 0;
+      for (long i = 0; i < n; i++) {
+        sequential += i;
+      }
+      long loop = System.nanoTime() - start;
+      start = System.nanoTime();
+      long parallel = sum(0, n);
+      long forkJoin = System.nanoTime() - start;
+      System.out.printf("sum [0, %d) : loop %d ms, fork-join %d ms on %d workers, equal %b%n", n,
+          loop / 1_000_000, forkJoin / 1_000_000, ForkJoinPool.commonPool().getParallelism(),
+          sequential == parallel);
+    }
+
+    int[] values = ThreadLocalRandom.current().ints(10_000_000).toArray();
+    record Slice(int from, int to) {
+    }
+    int max = solve(new Slice(0, values.length), slice -> slice.to() - slice.from() <= 100_000,
+        slice -> {
+          int best = Integer.MIN_VALUE;
+          for (int i = slice.from(); i < slice.to(); i++) {
+            best = Math.max(best, values[i]);
+          }
+          return best;
+        },
+        slice -> {
+          int mid = (slice.from() + slice.to()) >>> 1;
+          return List.of(new Slice(slice.from(), mid), new Slice(mid, slice.to()));
+        },
+        Math::max);
+    System.out.println("max of " + values.length + " values : " + max);
+  }
+}
@@ -0,0 +1,100 @@
+package org.example.recursion;
+
+/**
+ * A step of a tail-recursive computation that is run by a loop instead of the call stack.
+ *
+ * <p>Instead of calling itself in tail position, a trampolined function returns {@link #more} with the next
+ * call wrapped in a lambda, or {@link #done} with the result. {@link #run()} keeps bouncing until a result
+ * comes back, so the recursion depth is always one frame and a million steps cannot overflow the stack:
+ *
+ * <pre>{@code
+ * static Trampoline<Long> sum(long n, long acc) {
+ *   return (n == 0) ? Trampoline.done(acc) : Trampoline.more(() -> sum(n - 1, acc + n));
+ * }
+ * long total = sum(1_000_000, 0).run();
+ * }</pre>
+ *
+ * <p>Only tail calls can be trampolined; a function that still has work to do after the recursive call, like
+ * {@code n + sum(n - 1)}, must first be rewritten to carry that work in an accumulator.
+ *
+ * @param <T> the type of the result
+ */
+@FunctionalInterface
+public interface Trampoline<T> {
+
+  /**
+   * Performs one step of the computation.
+   *
+   * @return the next step
+   */
+  Trampoline<T> bounce();
+
+  /**
+   * Checks if this step holds the result.
+   *
+   * @return {@code true} if the computation has finished
+   */
+  default boolean isDone() {
+    return false;
+  }
+
+  /**
+   * Returns the result of a finished computation.
+   *
+   * @return the result
+   * @throws IllegalStateException if the computation has not finished
+   */
+  default T result() {
+    throw new IllegalStateException("Computation has not finished");
+  }
+
+  /**
+   * Runs the computation to the end in a loop.
+   *
+   * @return the result
+   */
+  default T run() {
+    Trampoline<T> step = this;
+    while (!step.isDone()) {
+      step = step.bounce();
+    }
+    return step.result();
+  }
+
+  /**
+   * Returns a finished computation.
+   *
+   * @param value the result
+   * @param <T>   the type of the result
+   * @return a step holding the result
+   */
+  static <T> Trampoline<T> done(T value) {
+    return new Trampoline<>() {
+      @Override
+      public Trampoline<T> bounce() {
+        return this;
+      }
+
+      @Override
+      public boolean isDone() {
+        return true;
+      }
+
+      @Override
+      public T result() {
+        return value;
+      }
+    };
+  }
+
+  /**
+   * Returns a step that continues with another one, in place of a tail call.
+   *
+   * @param next the rest of the computation
+   * @param <T>  the type of the result
+   * @return a step that is not finished
+   */
+  static <T> Trampoline<T> more(Trampoline<T> next) {
+    return next;
+  }
+}
@@ -1,22 +1,31 @@
 package org.example.recursion.problem;
 
+import org.example.recursion.ParallelRecursion;
+import org.example.recursion.Trampoline;
+
 public class Recursion1 {
+  // sum(n) = n + sum(n - 1), with sum(0) = 0 as the base case that stops the recursion
   private int sum(int n){
-    int sum = 0;
-    for(int i=0;i<n;i++){
-      sum = sum + i;
+    if (n <= 0) {
+      return 0;
     }
+    return n + sum(n - 1);
+  }
 
-    sum(n);
-    return sum;
-
-
+  // Same sum in tail position, run by a loop so deep n does not overflow the stack
+  private Trampoline<Long> sum(long n, long acc) {
+    if (n <= 0) {
+      return Trampoline.done(acc);
+    }
+    return Trampoline.more(() -> sum(n - 1, acc + n));
   }
 
   public static void main(String[] args) {
     Recursion1 recursion1 = new Recursion1();
     int sum = recursion1.sum(10);
     System.out.println("Sum of first n natual number " + sum);
+    System.out.println("Trampolined sum of first 1,000,000 : " + recursion1.sum(1_000_000, 0).run());
+    System.out.println("Parallel sum of first 1,000,000,000 : " + ParallelRecursion.sum(1, 1_000_000_001L));
   }
 
 }
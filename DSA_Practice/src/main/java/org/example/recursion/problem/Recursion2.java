@@ -3,13 +3,17 @@ package org.example.recursion.problem;
 //write a java class to print all natural numbers from n to 1 using Recursion
 public class Recursion2 {
   public void print(int n){
-    
+    if (n < 1) {
+      return;
+    }
+    System.out.println(n);
+    print(n - 1);
   }
 
 
   public static void main(String[] args) {
     int n = 10;
-
+    new Recursion2().print(n);
   }
 
 }
@@ -0,0 +1,489 @@
+package org.example.stack;
+
+import java.util.Collections;
+import java.util.Stack;
+import org.example.stack.implementation.ArrayImplementation;
+import org.example.stack.implementation.LinkedListImplementation.ConcurrentLLStack;
+
+/**
+ * Iterative versions of the stack questions in {@code stack.question}.
+ *
+ * <p>The recursive solutions use one Java frame per element and overflow on stacks of about 100k
+ * elements. These run in O(n) time with constant call depth: {@link java.util.Stack} is a
+ * {@link java.util.Vector}, so its array is edited in place, and {@link ArrayImplementation.Stack}
+ * moves the affected elements through one explicit {@code int[]} buffer instead of temporary stacks.
+ * {@link ArrayImplementation.LongStack} and {@link ArrayImplementation.ObjectStack} work the same way with a
+ * {@code long[]} or {@code Object[]} buffer. {@link ConcurrentLLStack} has no bulk operations, so its elements
+ * are popped into a buffer one by one and pushed back; each operation is a sequence of pushes and pops, not
+ * one atomic step, and must not run while other threads use the same stack.
+ *
+ * <p>Positions are counted from the bottom of the stack, so position 0 is the bottom and
+ * position {@code size()} is just above the top.
+ */
+public final class StackOperations {
+
+  private StackOperations() {
+  }
+
+  /**
+   * Pushes a value at the bottom of the stack.
+   *
+   * @param stack the stack to modify
+   * @param x     the value to push at the bottom
+   * @param <T>   the type of elements in the stack
+   */
+  public static <T> void pushAtBottom(Stack<T> stack, T x) {
+    stack.add(0, x);
+  }
+
+  /**
+   * Pushes a value at the bottom of the stack.
+   *
+   * @param stack the stack to modify
+   * @param x     the value to push at the bottom
+   */
+  public static void pushAtBottom(ArrayImplementation.Stack stack, int x) {
+    insertAt(stack, 0, x);
+  }
+
+  /**
+   * Reverses the stack in place, so the top becomes the bottom.
+   *
+   * @param stack the stack to reverse
+   * @param <T>   the type of elements in the stack
+   */
+  public static <T> void reverse(Stack<T> stack) {
+    Collections.reverse(stack);
+  }
+
+  /**
+   * Reverses the stack, so the top becomes the bottom.
+   *
+   * @param stack the stack to reverse
+   */
+  public static void reverse(ArrayImplementation.Stack stack) {
+    int[] buffer = new int[stack.size()];
+    // popN writes the top first, so pushing the buffer back in order reverses the stack
+    int count = stack.popN(buffer, 0, buffer.length);
+    stack.pushAll(buffer, 0, count);
+  }
+
+  /**
+   * Copies the stack, keeping the order of the elements.
+   *
+   * @param stack the stack to copy
+   * @param <T>   the type of elements in the stack
+   * @return a new stack with the same elements
+   */
+  public static <T> Stack<T> copy(Stack<T> stack) {
+    Stack<T> copiedStack = new Stack<>();
+    copiedStack.addAll(stack);
+    return copiedStack;
+  }
+
+  /**
+   * Copies the stack, keeping the order of the elements.
+   *
+   * @param stack the stack to copy
+   * @return a new stack with the same elements
+   */
+  public static ArrayImplementation.Stack copy(ArrayImplementation.Stack stack) {
+    ArrayImplementation.Stack copiedStack =
+        new ArrayImplementation.Stack(Math.max(1, stack.size()), ArrayImplementation.ResizePolicy.DEFAULT);
+    copiedStack.pushAll(stack.toArray());
+    return copiedStack;
+  }
+
+  /**
+   * Inserts a value at the given position.
+   *
+   * @param stack    the stack to modify
+   * @param position the position counted from the bottom, between 0 and {@code size()}
+   * @param x        the value to insert
+   * @param <T>      the type of elements in the stack
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public static <T> void insertAt(Stack<T> stack, int position, T x) {
+    stack.add(position, x);
+  }
+
+  /**
+   * Inserts a value at the given position. Only the elements above the position are moved.
+   *
+   * @param stack    the stack to modify
+   * @param position the position counted from the bottom, between 0 and {@code size()}
+   * @param x        the value to insert
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public static void insertAt(ArrayImplementation.Stack stack, int position, int x) {
+    if (position < 0 || position > stack.size()) {
+      throw new IndexOutOfBoundsException("Invalid position " + position);
+    }
+    int[] buffer = popAbove(stack, position);
+    stack.push(x);
+    stack.pushAll(buffer);
+  }
+
+  /**
+   * Deletes the value at the given position.
+   *
+   * @param stack    the stack to modify
+   * @param position the position counted from the bottom, between 0 and {@code size() - 1}
+   * @param <T>      the type of elements in the stack
+   * @return the deleted value
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public static <T> T deleteAt(Stack<T> stack, int position) {
+    return stack.remove(position);
+  }
+
+  /**
+   * Deletes the value at the given position. Only the elements above the position are moved.
+   *
+   * @param stack    the stack to modify
+   * @param position the position counted from the bottom, between 0 and {@code size() - 1}
+   * @return the deleted value
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public static int deleteAt(ArrayImplementation.Stack stack, int position) {
+    if (position < 0 || position >= stack.size()) {
+      throw new IndexOutOfBoundsException("Invalid position " + position);
+    }
+    int[] buffer = popAbove(stack, position + 1);
+    int deleted = stack.pop();
+    stack.pushAll(buffer);
+    return deleted;
+  }
+
+  /**
+   * Pushes a value at the bottom of the stack.
+   *
+   * @param stack the stack to modify
+   * @param x     the value to push at the bottom
+   */
+  public static void pushAtBottom(ArrayImplementation.LongStack stack, long x) {
+    insertAt(stack, 0, x);
+  }
+
+  /**
+   * Reverses the stack, so the top becomes the bottom.
+   *
+   * @param stack the stack to reverse
+   */
+  public static void reverse(ArrayImplementation.LongStack stack) {
+    long[] buffer = new long[stack.size()];
+    int count = stack.popN(buffer, 0, buffer.length);
+    stack.pushAll(buffer, 0, count);
+  }
+
+  /**
+   * Copies the stack, keeping the order of the elements.
+   *
+   * @param stack the stack to copy
+   * @return a new stack with the same elements
+   */
+  public static ArrayImplementation.LongStack copy(ArrayImplementation.LongStack stack) {
+    ArrayImplementation.LongStack copiedStack =
+        new ArrayImplementation.LongStack(Math.max(1, stack.size()), ArrayImplementation.ResizePolicy.DEFAULT);
+    copiedStack.pushAll(stack.toArray());
+    return copiedStack;
+  }
+
+  /**
+   * Inserts a value at the given position. Only the elements above the position are moved.
+   *
+   * @param stack    the stack to modify
+   * @param position the position counted from the bottom, between 0 and {@code size()}
+   * @param x        the value to insert
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public static void insertAt(ArrayImplementation.LongStack stack, int position, long x) {
+    if (position < 0 || position > stack.size()) {
+      throw new IndexOutOfBoundsException("Invalid position " + position);
+    }
+    long[] buffer = popAbove(stack, position);
+    stack.push(x);
+    stack.pushAll(buffer);
+  }
+
+  /**
+   * Deletes the value at the given position. Only the elements above the position are moved.
+   *
+   * @param stack    the stack to modify
+   * @param position the position counted from the bottom, between 0 and {@code size() - 1}
+   * @return the deleted value
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public static long deleteAt(ArrayImplementation.LongStack stack, int position) {
+    if (position < 0 || position >= stack.size()) {
+      throw new IndexOutOfBoundsException("Invalid position " + position);
+    }
+    long[] buffer = popAbove(stack, position + 1);
+    long deleted = stack.pop();
+    stack.pushAll(buffer);
+    return deleted;
+  }
+
+  /**
+   * Pushes a value at the bottom of the stack.
+   *
+   * @param stack the stack to modify
+   * @param x     the value to push at the bottom
+   * @param <T>   the type of elements in the stack
+   */
+  public static <T> void pushAtBottom(ArrayImplementation.ObjectStack<T> stack, T x) {
+    insertAt(stack, 0, x);
+  }
+
+  /**
+   * Reverses the stack, so the top becomes the bottom.
+   *
+   * @param stack the stack to reverse
+   * @param <T>   the type of elements in the stack
+   */
+  public static <T> void reverse(ArrayImplementation.ObjectStack<T> stack) {
+    T[] buffer = newArray(stack.size());
+    int count = stack.popN(buffer, 0, buffer.length);
+    stack.pushAll(buffer, 0, count);
+  }
+
+  /**
+   * Copies the stack, keeping the order of the elements. The elements themselves are shared.
+   *
+   * @param stack the stack to copy
+   * @param <T>   the type of elements in the stack
+   * @return a new stack with the same elements
+   */
+  public static <T> ArrayImplementation.ObjectStack<T> copy(ArrayImplementation.ObjectStack<T> stack) {
+    T[] buffer = popAbove(stack, 0);
+    stack.pushAll(buffer);
+    ArrayImplementation.ObjectStack<T> copiedStack =
+        new ArrayImplementation.ObjectStack<>(Math.max(1, buffer.length), ArrayImplementation.ResizePolicy.DEFAULT);
+    copiedStack.pushAll(buffer);
+    return copiedStack;
+  }
+
+  /**
+   * Inserts a value at the given position. Only the elements above the position are moved.
+   *
+   * @param stack    the stack to modify
+   * @param position the position counted from the bottom, between 0 and {@code size()}
+   * @param x        the value to insert
+   * @param <T>      the type of elements in the stack
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public static <T> void insertAt(ArrayImplementation.ObjectStack<T> stack, int position, T x) {
+    if (position < 0 || position > stack.size()) {
+      throw new IndexOutOfBoundsException("Invalid position " + position);
+    }
+    T[] buffer = popAbove(stack, position);
+    stack.push(x);
+    stack.pushAll(buffer);
+  }
+
+  /**
+   * Deletes the value at the given position. Only the elements above the position are moved.
+   *
+   * @param stack    the stack to modify
+   * @param position the position counted from the bottom, between 0 and {@code size() - 1}
+   * @param <T>      the type of elements in the stack
+   * @return the deleted value
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public static <T> T deleteAt(ArrayImplementation.ObjectStack<T> stack, int position) {
+    if (position < 0 || position >= stack.size()) {
+      throw new IndexOutOfBoundsException("Invalid position " + position);
+    }
+    T[] buffer = popAbove(stack, position + 1);
+    T deleted = stack.pop();
+    stack.pushAll(buffer);
+    return deleted;
+  }
+
+  /**
+   * Pushes a value at the bottom of the stack.
+   *
+   * @param stack the stack to modify, not used by other threads meanwhile
+   * @param x     the value to push at the bottom
+   */
+  public static void pushAtBottom(ConcurrentLLStack stack, int x) {
+    insertAt(stack, 0, x);
+  }
+
+  /**
+   * Reverses the stack, so the top becomes the bottom.
+   *
+   * @param stack the stack to reverse, not used by other threads meanwhile
+   */
+  public static void reverse(ConcurrentLLStack stack) {
+    int[] buffer = popAll(stack);
+    // The buffer holds the old top first, so pushing it in order leaves the old bottom on top
+    for (int value : buffer) {
+      stack.push(value);
+    }
+  }
+
+  /**
+   * Copies the stack, keeping the order of the elements.
+   *
+   * @param stack the stack to copy, not used by other threads meanwhile
+   * @return a new stack with the same elements
+   */
+  public static ConcurrentLLStack copy(ConcurrentLLStack stack) {
+    int[] buffer = popAll(stack);
+    ConcurrentLLStack copiedStack = new ConcurrentLLStack();
+    for (int i = buffer.length - 1; i >= 0; i--) {
+      stack.push(buffer[i]);
+      copiedStack.push(buffer[i]);
+    }
+    return copiedStack;
+  }
+
+  /**
+   * Inserts a value at the given position. Only the elements above the position are moved.
+   *
+   * @param stack    the stack to modify, not used by other threads meanwhile
+   * @param position the position counted from the bottom, between 0 and {@code size()}
+   * @param x        the value to insert
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public static void insertAt(ConcurrentLLStack stack, int position, int x) {
+    int size = stack.size();
+    if (position < 0 || position > size) {
+      throw new IndexOutOfBoundsException("Invalid position " + position);
+    }
+    int[] buffer = popTop(stack, size - position);
+    stack.push(x);
+    pushBack(stack, buffer);
+  }
+
+  /**
+   * Deletes the value at the given position. Only the elements above the position are moved.
+   *
+   * @param stack    the stack to modify, not used by other threads meanwhile
+   * @param position the position counted from the bottom, between 0 and {@code size() - 1}
+   * @return the deleted value
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public static int deleteAt(ConcurrentLLStack stack, int position) {
+    int size = stack.size();
+    if (position < 0 || position >= size) {
+      throw new IndexOutOfBoundsException("Invalid position " + position);
+    }
+    int[] buffer = popTop(stack, size - position - 1);
+    int deleted = stack.pop();
+    pushBack(stack, buffer);
+    return deleted;
+  }
+
+  /**
+   * Pops every element at or above {@code position} into a buffer ordered from bottom to top,
+   * ready to be pushed back with {@code pushAll}.
+   */
+  private static int[] popAbove(ArrayImplementation.Stack stack, int position) {
+    int[] buffer = new int[stack.size() - position];
+    stack.popN(buffer, 0, buffer.length);
+    for (int i = 0, j = buffer.length - 1; i < j; i++, j--) {
+      int temp = buffer[i];
+      buffer[i] = buffer[j];
+      buffer[j] = temp;
+    }
+    return buffer;
+  }
+
+  private static long[] popAbove(ArrayImplementation.LongStack stack, int position) {
+    long[] buffer = new long[stack.size() - position];
+    stack.popN(buffer, 0, buffer.length);
+    for (int i = 0, j = buffer.length - 1; i < j; i++, j--) {
+      long temp = buffer[i];
+      buffer[i] = buffer[j];
+      buffer[j] = temp;
+    }
+    return buffer;
+  }
+
+  private static <T> T[] popAbove(ArrayImplementation.ObjectStack<T> stack, int position) {
+    T[] buffer = newArray(stack.size() - position);
+    stack.popN(buffer, 0, buffer.length);
+    for (int i = 0, j = buffer.length - 1; i < j; i++, j--) {
+      T temp = buffer[i];
+      buffer[i] = buffer[j];
+      buffer[j] = temp;
+    }
+    return buffer;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T[] newArray(int length) {
+    // ObjectStack stores Object[] internally, so an Object[] buffer is all popN and pushAll ever touch
+    return (T[]) new Object[length];
+  }
+
+  /**
+   * Pops the top {@code count} elements into a buffer, the top element first.
+   */
+  private static int[] popTop(ConcurrentLLStack stack, int count) {
+    int[] buffer = new int[count];
+    for (int i = 0; i < count; i++) {
+      buffer[i] = stack.pop();
+    }
+    return buffer;
+  }
+
+  private static int[] popAll(ConcurrentLLStack stack) {
+    return popTop(stack, stack.size());
+  }
+
+  /**
+   * Pushes back a buffer filled by {@link #popTop}, so the elements end up in their original order.
+   */
+  private static void pushBack(ConcurrentLLStack stack, int[] buffer) {
+    for (int i = buffer.length - 1; i >= 0; i--) {
+      stack.push(buffer[i]);
+    }
+  }
+
+  /**
+   * Demonstrates the operations on a stack far deeper than the recursive versions can handle.
+   *
+   * @param args Command line arguments (not used in this example).
+   */
+  public static void main(String[] args) {
+    ArrayImplementation.Stack stack = new ArrayImplementation.Stack();
+    for (int i = 1; i <= 1_000_000; i++) {
+      stack.push(i);
+    }
+    pushAtBottom(stack, 0);
+    reverse(stack);
+    System.out.println("Top after reverse : " + stack.peek());
+
+    Stack<Integer> st = new Stack<>();
+    st.push(1);
+    st.push(100);
+    st.push(50);
+    insertAt(st, 1, 77);
+    System.out.println("After insert : " + st);
+    deleteAt(st, 2);
+    reverse(st);
+    System.out.println("After delete and reverse : " + st);
+
+    ArrayImplementation.LongStack longs = new ArrayImplementation.LongStack();
+    ArrayImplementation.ObjectStack<String> strings = new ArrayImplementation.ObjectStack<>();
+    ConcurrentLLStack shared = new ConcurrentLLStack();
+    for (int i = 1; i <= 5; i++) {
+      longs.push(i);
+      strings.push("s" + i);
+      shared.push(i);
+    }
+    insertAt(longs, 2, 99L);
+    reverse(longs);
+    System.out.println("LongStack top after insert and reverse : " + longs.peek());
+    deleteAt(strings, 0);
+    pushAtBottom(strings, "bottom");
+    System.out.println("ObjectStack copy top : " + copy(strings).peek());
+    reverse(shared);
+    deleteAt(shared, 4);
+    System.out.println("ConcurrentLLStack top after reverse and delete : " + shared.peek()
+        + ", size " + shared.size());
+  }
+}
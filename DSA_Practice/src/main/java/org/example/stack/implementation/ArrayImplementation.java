@@ -1,52 +1,195 @@
 package org.example.stack.implementation;
 
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Objects;
+
 /**
  * Implementation of a stack using an array.
+ *
+ * <p>The stacks grow when they are full and may shrink after pops, as decided by a {@link ResizePolicy}.
+ * {@link Stack} and {@link LongStack} store primitives directly, so nothing is boxed, and none of the
+ * stacks is synchronized, unlike {@link java.util.Stack}.
  */
 public class ArrayImplementation {
 
   /**
-   * Stack class to demonstrate stack operations using an array.
+   * Largest array size that is safe to request from the JVM.
+   */
+  static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  /**
+   * Default number of elements a new stack can hold before it has to grow.
+   */
+  public static final int DEFAULT_CAPACITY = 16;
+
+  /**
+   * Decides how much a stack grows when it is full and when it gives memory back after pops.
+   */
+  public static final class ResizePolicy {
+
+    /**
+     * Doubles the capacity when full and halves it when less than a quarter is used.
+     */
+    public static final ResizePolicy DEFAULT = new ResizePolicy(2.0, 0.25);
+
+    /**
+     * Doubles the capacity when full and never shrinks.
+     */
+    public static final ResizePolicy NEVER_SHRINK = new ResizePolicy(2.0, 0.0);
+
+    private final double growthFactor;
+    private final double shrinkLoadFactor;
+
+    /**
+     * Creates a policy.
+     *
+     * @param growthFactor     the factor the capacity is multiplied by when the stack is full, greater than 1
+     * @param shrinkLoadFactor the fraction of the capacity below which the stack shrinks by
+     *                         {@code growthFactor}; 0 disables shrinking. It must be below
+     *                         {@code 1 / growthFactor} so a push right after a shrink never grows again.
+     * @throws IllegalArgumentException if the factors are out of range
+     */
+    public ResizePolicy(double growthFactor, double shrinkLoadFactor) {
+      if (!(growthFactor > 1.0)) {
+        throw new IllegalArgumentException("Growth factor must be greater than 1.");
+      }
+      if (shrinkLoadFactor < 0.0 || shrinkLoadFactor >= 1.0 / growthFactor) {
+        throw new IllegalArgumentException("Shrink load factor must be in [0, 1 / growthFactor).");
+      }
+      this.growthFactor = growthFactor;
+      this.shrinkLoadFactor = shrinkLoadFactor;
+    }
+
+    /**
+     * Returns the capacity to grow to.
+     *
+     * @param capacity the current capacity
+     * @param required the number of elements that must fit
+     * @return the new capacity, at least {@code required}
+     */
+    int grow(int capacity, int required) {
+      if (required < 0 || required > MAX_CAPACITY) {
+        throw new OutOfMemoryError("Stack size exceeds " + MAX_CAPACITY);
+      }
+      long grown = Math.max((long) (capacity * growthFactor), capacity + 1L);
+      return (int) Math.max(required, Math.min(grown, MAX_CAPACITY));
+    }
+
+    /**
+     * Returns the capacity to shrink to, or the current capacity if the stack should keep it.
+     *
+     * @param capacity the current capacity
+     * @param size     the number of elements in the stack
+     * @param minimum  the capacity the stack was created with, which it never goes below
+     * @return the new capacity
+     */
+    int shrink(int capacity, int size, int minimum) {
+      if (capacity <= minimum || size >= capacity * shrinkLoadFactor) {
+        return capacity;
+      }
+      return Math.max(minimum, (int) (capacity / growthFactor));
+    }
+  }
+
+  /**
+   * Stack of {@code int} values backed by a growable array.
    */
   public static class Stack {
 
-    private final int[] arr = new int[5];
+    private final ResizePolicy policy;
+    private final int initialCapacity;
+    private int[] arr;
     private int idx = 0;
 
+    /**
+     * Creates a stack with the default capacity and resize policy.
+     */
+    public Stack() {
+      this(DEFAULT_CAPACITY, ResizePolicy.DEFAULT);
+    }
+
+    /**
+     * Creates a stack.
+     *
+     * @param initialCapacity the number of elements the stack can hold before it has to grow
+     * @param policy          decides how the stack grows and shrinks
+     */
+    public Stack(int initialCapacity, ResizePolicy policy) {
+      if (initialCapacity < 1) {
+        throw new IllegalArgumentException("Initial capacity must be greater than 0.");
+      }
+      this.arr = new int[initialCapacity];
+      this.initialCapacity = initialCapacity;
+      this.policy = policy;
+    }
+
     /**
      * Main method to demonstrate stack operations.
      *
      * @param args command line arguments
      */
     public static void main(String[] args) {
-      Stack st = new Stack();
+      Stack st = new Stack(2, ResizePolicy.DEFAULT);
       st.push(1);
-      System.out.println("Size of stack: " + st.size());
+      st.pushAll(new int[]{2, 3, 4, 5, 6});
+      st.display();
+      System.out.println("Size of stack: " + st.size() + ", capacity: " + st.capacity());
+
+      int[] top = new int[3];
+      int popped = st.popN(top, 0, 3);
+      System.out.println("Popped " + popped + " : " + Arrays.toString(top));
+      System.out.println("Peek: " + st.peek());
+      System.out.println("Pop: " + st.pop());
+      st.display();
     }
 
     /**
-     * Pushes an element onto the stack.
+     * Pushes an element onto the stack, growing the array if it is full. Amortized O(1).
      *
      * @param x the element to be pushed onto the stack
      */
-    private void push(int x) {
-      if (isFull()) {
-        System.out.println("Stack is full");
-        return;
+    public void push(int x) {
+      if (idx == arr.length) {
+        arr = Arrays.copyOf(arr, policy.grow(arr.length, idx + 1));
       }
       arr[idx] = x;
       idx++;
     }
 
+    /**
+     * Pushes {@code length} elements of {@code values}, starting at {@code offset}, so the last one ends on top.
+     *
+     * @param values the elements to push
+     * @param offset the index of the first element to push
+     * @param length the number of elements to push
+     */
+    public void pushAll(int[] values, int offset, int length) {
+      if (arr.length - idx < length) {
+        arr = Arrays.copyOf(arr, policy.grow(arr.length, idx + length));
+      }
+      System.arraycopy(values, offset, arr, idx, length);
+      idx += length;
+    }
+
+    /**
+     * Pushes every element of {@code values} so the last one ends on top.
+     *
+     * @param values the elements to push
+     */
+    public void pushAll(int[] values) {
+      pushAll(values, 0, values.length);
+    }
+
     /**
      * Returns the top element of the stack without removing it.
      *
-     * @return the top element of the stack, or -1 if the stack is empty
+     * @return the top element of the stack
+     * @throws EmptyStackException if the stack is empty
      */
-    private int peek() {
+    public int peek() {
       if (idx == 0) {
-        System.out.println("Stack is empty");
-        return -1;
+        throw new EmptyStackException();
       }
       return arr[idx - 1];
     }
@@ -54,23 +197,44 @@ public class ArrayImplementation {
     /**
      * Removes the top element of the stack and returns it.
      *
-     * @return the top element of the stack, or -1 if the stack is empty
+     * @return the top element of the stack
+     * @throws EmptyStackException if the stack is empty
      */
-    private int pop() {
+    public int pop() {
       if (idx == 0) {
-        System.out.println("Stack is empty");
-        return -1;
+        throw new EmptyStackException();
       }
       int top = arr[idx - 1];
-      arr[idx - 1] = 0;
       idx--;
+      shrinkIfSparse();
       return top;
     }
 
+    /**
+     * Pops up to {@code n} elements into {@code dest}, the top element first.
+     *
+     * @param dest   the array receiving the popped elements
+     * @param offset the index in {@code dest} of the first popped element
+     * @param n      the maximum number of elements to pop
+     * @return the number of elements popped, less than {@code n} if the stack ran out
+     * @throws IllegalArgumentException  if {@code n} is negative
+     * @throws IndexOutOfBoundsException if {@code dest} has no room for {@code n} elements at {@code offset}
+     */
+    public int popN(int[] dest, int offset, int n) {
+      checkPopN(dest.length, offset, n);
+      int count = Math.min(n, idx);
+      for (int i = 0; i < count; i++) {
+        dest[offset + i] = arr[idx - 1 - i];
+      }
+      idx -= count;
+      shrinkIfSparse();
+      return count;
+    }
+
     /**
      * Displays the elements of the stack.
      */
-    private void display() {
+    public void display() {
       for (int i = 0; i < idx; i++) {
         System.out.print(arr[i] + " ");
       }
@@ -82,7 +246,7 @@ public class ArrayImplementation {
      *
      * @return the number of elements in the stack
      */
-    private int size() {
+    public int size() {
       return idx;
     }
 
@@ -91,26 +255,394 @@ public class ArrayImplementation {
      *
      * @return {@code true} if the stack is empty, {@code false} otherwise
      */
-    private boolean isEmpty() {
+    public boolean isEmpty() {
       return idx == 0;
     }
 
     /**
-     * Checks if the stack is full.
+     * Removes every element, keeping the current capacity.
+     */
+    public void clear() {
+      idx = 0;
+    }
+
+    /**
+     * Returns the capacity of the stack.
+     *
+     * @return the number of elements the stack can hold before it has to grow
+     */
+    public int capacity() {
+      return arr.length;
+    }
+
+    /**
+     * Returns the elements from bottom to top.
+     *
+     * @return a new array holding the elements of the stack
+     */
+    public int[] toArray() {
+      return Arrays.copyOf(arr, idx);
+    }
+
+    private void shrinkIfSparse() {
+      int capacity = policy.shrink(arr.length, idx, initialCapacity);
+      if (capacity != arr.length) {
+        arr = Arrays.copyOf(arr, capacity);
+      }
+    }
+  }
+
+  /**
+   * Stack of {@code long} values backed by a growable array.
+   */
+  public static class LongStack {
+
+    private final ResizePolicy policy;
+    private final int initialCapacity;
+    private long[] arr;
+    private int idx = 0;
+
+    /**
+     * Creates a stack with the default capacity and resize policy.
+     */
+    public LongStack() {
+      this(DEFAULT_CAPACITY, ResizePolicy.DEFAULT);
+    }
+
+    /**
+     * Creates a stack.
+     *
+     * @param initialCapacity the number of elements the stack can hold before it has to grow
+     * @param policy          decides how the stack grows and shrinks
+     */
+    public LongStack(int initialCapacity, ResizePolicy policy) {
+      if (initialCapacity < 1) {
+        throw new IllegalArgumentException("Initial capacity must be greater than 0.");
+      }
+      this.arr = new long[initialCapacity];
+      this.initialCapacity = initialCapacity;
+      this.policy = policy;
+    }
+
+    /**
+     * Pushes an element onto the stack, growing the array if it is full. Amortized O(1).
      *
-     * @return {@code true} if the stack is full, {@code false} otherwise
+     * @param x the element to be pushed onto the stack
      */
-    private boolean isFull() {
-      return idx == arr.length;
+    public void push(long x) {
+      if (idx == arr.length) {
+        arr = Arrays.copyOf(arr, policy.grow(arr.length, idx + 1));
+      }
+      arr[idx] = x;
+      idx++;
+    }
+
+    /**
+     * Pushes {@code length} elements of {@code values}, starting at {@code offset}, so the last one ends on top.
+     *
+     * @param values the elements to push
+     * @param offset the index of the first element to push
+     * @param length the number of elements to push
+     */
+    public void pushAll(long[] values, int offset, int length) {
+      if (arr.length - idx < length) {
+        arr = Arrays.copyOf(arr, policy.grow(arr.length, idx + length));
+      }
+      System.arraycopy(values, offset, arr, idx, length);
+      idx += length;
+    }
+
+    /**
+     * Pushes every element of {@code values} so the last one ends on top.
+     *
+     * @param values the elements to push
+     */
+    public void pushAll(long[] values) {
+      pushAll(values, 0, values.length);
+    }
+
+    /**
+     * Returns the top element of the stack without removing it.
+     *
+     * @return the top element of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    public long peek() {
+      if (idx == 0) {
+        throw new EmptyStackException();
+      }
+      return arr[idx - 1];
+    }
+
+    /**
+     * Removes the top element of the stack and returns it.
+     *
+     * @return the top element of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    public long pop() {
+      if (idx == 0) {
+        throw new EmptyStackException();
+      }
+      long top = arr[idx - 1];
+      idx--;
+      shrinkIfSparse();
+      return top;
+    }
+
+    /**
+     * Pops up to {@code n} elements into {@code dest}, the top element first.
+     *
+     * @param dest   the array receiving the popped elements
+     * @param offset the index in {@code dest} of the first popped element
+     * @param n      the maximum number of elements to pop
+     * @return the number of elements popped, less than {@code n} if the stack ran out
+     * @throws IllegalArgumentException  if {@code n} is negative
+     * @throws IndexOutOfBoundsException if {@code dest} has no room for {@code n} elements at {@code offset}
+     */
+    public int popN(long[] dest, int offset, int n) {
+      checkPopN(dest.length, offset, n);
+      int count = Math.min(n, idx);
+      for (int i = 0; i < count; i++) {
+        dest[offset + i] = arr[idx - 1 - i];
+      }
+      idx -= count;
+      shrinkIfSparse();
+      return count;
+    }
+
+    /**
+     * Returns the current size of the stack.
+     *
+     * @return the number of elements in the stack
+     */
+    public int size() {
+      return idx;
+    }
+
+    /**
+     * Checks if the stack is empty.
+     *
+     * @return {@code true} if the stack is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+      return idx == 0;
+    }
+
+    /**
+     * Removes every element, keeping the current capacity.
+     */
+    public void clear() {
+      idx = 0;
     }
 
     /**
      * Returns the capacity of the stack.
      *
-     * @return the maximum number of elements the stack can hold
+     * @return the number of elements the stack can hold before it has to grow
      */
-    private int capacity() {
+    public int capacity() {
       return arr.length;
     }
+
+    /**
+     * Returns the elements from bottom to top.
+     *
+     * @return a new array holding the elements of the stack
+     */
+    public long[] toArray() {
+      return Arrays.copyOf(arr, idx);
+    }
+
+    private void shrinkIfSparse() {
+      int capacity = policy.shrink(arr.length, idx, initialCapacity);
+      if (capacity != arr.length) {
+        arr = Arrays.copyOf(arr, capacity);
+      }
+    }
+  }
+
+  /**
+   * Stack of references backed by a growable array. Popped slots are cleared so the
+   * stack does not keep removed elements alive.
+   *
+   * @param <T> the type of elements in the stack
+   */
+  public static class ObjectStack<T> {
+
+    private final ResizePolicy policy;
+    private final int initialCapacity;
+    private Object[] arr;
+    private int idx = 0;
+
+    /**
+     * Creates a stack with the default capacity and resize policy.
+     */
+    public ObjectStack() {
+      this(DEFAULT_CAPACITY, ResizePolicy.DEFAULT);
+    }
+
+    /**
+     * Creates a stack.
+     *
+     * @param initialCapacity the number of elements the stack can hold before it has to grow
+     * @param policy          decides how the stack grows and shrinks
+     */
+    public ObjectStack(int initialCapacity, ResizePolicy policy) {
+      if (initialCapacity < 1) {
+        throw new IllegalArgumentException("Initial capacity must be greater than 0.");
+      }
+      this.arr = new Object[initialCapacity];
+      this.initialCapacity = initialCapacity;
+      this.policy = policy;
+    }
+
+    /**
+     * Pushes an element onto the stack, growing the array if it is full. Amortized O(1).
+     *
+     * @param x the element to be pushed onto the stack
+     */
+    public void push(T x) {
+      if (idx == arr.length) {
+        arr = Arrays.copyOf(arr, policy.grow(arr.length, idx + 1));
+      }
+      arr[idx] = x;
+      idx++;
+    }
+
+    /**
+     * Pushes {@code length} elements of {@code values}, starting at {@code offset}, so the last one ends on top.
+     *
+     * @param values the elements to push
+     * @param offset the index of the first element to push
+     * @param length the number of elements to push
+     */
+    public void pushAll(T[] values, int offset, int length) {
+      if (arr.length - idx < length) {
+        arr = Arrays.copyOf(arr, policy.grow(arr.length, idx + length));
+      }
+      System.arraycopy(values, offset, arr, idx, length);
+      idx += length;
+    }
+
+    /**
+     * Pushes every element of {@code values} so the last one ends on top.
+     *
+     * @param values the elements to push
+     */
+    public void pushAll(T[] values) {
+      pushAll(values, 0, values.length);
+    }
+
+    /**
+     * Returns the top element of the stack without removing it.
+     *
+     * @return the top element of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+      if (idx == 0) {
+        throw new EmptyStackException();
+      }
+      return (T) arr[idx - 1];
+    }
+
+    /**
+     * Removes the top element of the stack and returns it.
+     *
+     * @return the top element of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T pop() {
+      if (idx == 0) {
+        throw new EmptyStackException();
+      }
+      T top = (T) arr[idx - 1];
+      arr[idx - 1] = null;
+      idx--;
+      shrinkIfSparse();
+      return top;
+    }
+
+    /**
+     * Pops up to {@code n} elements into {@code dest}, the top element first.
+     *
+     * @param dest   the array receiving the popped elements
+     * @param offset the index in {@code dest} of the first popped element
+     * @param n      the maximum number of elements to pop
+     * @return the number of elements popped, less than {@code n} if the stack ran out
+     * @throws IllegalArgumentException  if {@code n} is negative
+     * @throws IndexOutOfBoundsException if {@code dest} has no room for {@code n} elements at {@code offset}
+     */
+    @SuppressWarnings("unchecked")
+    public int popN(T[] dest, int offset, int n) {
+      checkPopN(dest.length, offset, n);
+      int count = Math.min(n, idx);
+      for (int i = 0; i < count; i++) {
+        dest[offset + i] = (T) arr[idx - 1 - i];
+        arr[idx - 1 - i] = null;
+      }
+      idx -= count;
+      shrinkIfSparse();
+      return count;
+    }
+
+    /**
+     * Returns the current size of the stack.
+     *
+     * @return the number of elements in the stack
+     */
+    public int size() {
+      return idx;
+    }
+
+    /**
+     * Checks if the stack is empty.
+     *
+     * @return {@code true} if the stack is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+      return idx == 0;
+    }
+
+    /**
+     * Removes every element, keeping the current capacity.
+     */
+    public void clear() {
+      Arrays.fill(arr, 0, idx, null);
+      idx = 0;
+    }
+
+    /**
+     * Returns the capacity of the stack.
+     *
+     * @return the number of elements the stack can hold before it has to grow
+     */
+    public int capacity() {
+      return arr.length;
+    }
+
+    private void shrinkIfSparse() {
+      int capacity = policy.shrink(arr.length, idx, initialCapacity);
+      if (capacity != arr.length) {
+        arr = Arrays.copyOf(arr, capacity);
+      }
+    }
+  }
+
+  /**
+   * Checks the arguments of a {@code popN} before the stack is touched, so a bad call leaves it unchanged.
+   *
+   * @param destLength the length of the destination array
+   * @param offset     the index of the first popped element in the destination
+   * @param n          the maximum number of elements to pop
+   */
+  private static void checkPopN(int destLength, int offset, int n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("Count must not be negative.");
+    }
+    Objects.checkFromIndexSize(offset, n, destLength);
   }
 }
@@ -1,5 +1,10 @@
 package org.example.stack.implementation;
 
+import java.util.EmptyStackException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * Implementation of a stack using a linked list.
  */
@@ -118,4 +123,205 @@ public class LinkedListImplementation {
       }
     }
   }
+
+  /**
+   * Lock-free stack (Treiber stack) built on the same {@link Node} type as {@link Node.LLStack},
+   * safe to share as a work pool between threads.
+   *
+   * <p>The head is swapped with a single compare-and-set. Every push allocates a fresh node and popped
+   * nodes are reclaimed by the garbage collector, which never reuses a node another thread still
+   * references, so the ABA problem of manual reclamation cannot occur.
+   *
+   * <p>When a compare-and-set on the head fails because of contention, the thread visits a random slot of
+   * an elimination array instead of retrying at once. A pusher parks its node there for a short spin and a
+   * popper that finds it takes it, so the two operations cancel out without touching the head.
+   */
+  public static class ConcurrentLLStack {
+    private static final int ELIMINATION_SPINS = 128;
+
+    private final AtomicReference<Node> head = new AtomicReference<>();
+    private final AtomicReferenceArray<Node> eliminationSlots;
+
+    /**
+     * Creates a stack with one elimination slot per two available processors.
+     */
+    public ConcurrentLLStack() {
+      this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * Creates a stack.
+     *
+     * @param eliminationWidth the number of elimination slots, or 0 for a plain Treiber stack
+     */
+    public ConcurrentLLStack(int eliminationWidth) {
+      if (eliminationWidth < 0) {
+        throw new IllegalArgumentException("Elimination width must not be negative.");
+      }
+      this.eliminationSlots = (eliminationWidth == 0) ? null : new AtomicReferenceArray<>(eliminationWidth);
+    }
+
+    /**
+     * Pushes a value onto the stack.
+     *
+     * @param x The value to be pushed onto the stack.
+     */
+    public void push(int x) {
+      Node newNode = new Node(x);
+      while (true) {
+        Node top = head.get();
+        newNode.next = top;
+        if (head.compareAndSet(top, newNode)) {
+          return;
+        }
+        if (eliminationSlots != null && eliminatePush(newNode)) {
+          return;
+        }
+      }
+    }
+
+    /**
+     * Pops the topmost value from the stack.
+     *
+     * @return The value popped from the stack.
+     * @throws EmptyStackException if the stack is empty
+     */
+    public int pop() {
+      Node top = popNode();
+      if (top == null) {
+        throw new EmptyStackException();
+      }
+      return top.value;
+    }
+
+    /**
+     * Pops the topmost value from the stack, or returns {@code defaultValue} if it is empty.
+     * Useful for work pools where an empty stack is a normal condition.
+     *
+     * @param defaultValue the value to return when the stack is empty
+     * @return The value popped from the stack, or {@code defaultValue}.
+     */
+    public int popOrDefault(int defaultValue) {
+      Node top = popNode();
+      return (top == null) ? defaultValue : top.value;
+    }
+
+    /**
+     * Peeks at the topmost value of the stack without removing it.
+     *
+     * @return The topmost value of the stack.
+     * @throws EmptyStackException if the stack is empty
+     */
+    public int peek() {
+      Node top = head.get();
+      if (top == null) {
+        throw new EmptyStackException();
+      }
+      return top.value;
+    }
+
+    /**
+     * Checks if the stack is empty.
+     *
+     * @return True if the stack is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+      return head.get() == null;
+    }
+
+    /**
+     * Counts the values in the stack by walking it. The result is only a snapshot
+     * if other threads push or pop at the same time. Time complexity O(n).
+     *
+     * @return The size of the stack.
+     */
+    public int size() {
+      int count = 0;
+      for (Node temp = head.get(); temp != null; temp = temp.next) {
+        count++;
+      }
+      return count;
+    }
+
+    private Node popNode() {
+      while (true) {
+        Node top = head.get();
+        if (top == null) {
+          return null;
+        }
+        if (head.compareAndSet(top, top.next)) {
+          return top;
+        }
+        if (eliminationSlots != null) {
+          Node eliminated = eliminatePop();
+          if (eliminated != null) {
+            return eliminated;
+          }
+        }
+      }
+    }
+
+    /**
+     * Parks the node in a random elimination slot and waits briefly for a popper to take it.
+     *
+     * @param node the node being pushed
+     * @return true if a popper took the node, false if the push has to retry on the head
+     */
+    private boolean eliminatePush(Node node) {
+      int slot = ThreadLocalRandom.current().nextInt(eliminationSlots.length());
+      if (!eliminationSlots.compareAndSet(slot, null, node)) {
+        return false;
+      }
+      for (int spin = 0; spin < ELIMINATION_SPINS; spin++) {
+        if (eliminationSlots.get(slot) != node) {
+          return true;
+        }
+        Thread.onSpinWait();
+      }
+      // Failing to withdraw means a popper took the node in the meantime.
+      return !eliminationSlots.compareAndSet(slot, node, null);
+    }
+
+    /**
+     * Looks briefly for a node parked by a pusher in a random elimination slot.
+     *
+     * @return the node taken from a pusher, or null if none showed up
+     */
+    private Node eliminatePop() {
+      int slot = ThreadLocalRandom.current().nextInt(eliminationSlots.length());
+      for (int spin = 0; spin < ELIMINATION_SPINS; spin++) {
+        Node node = eliminationSlots.get(slot);
+        if (node != null && eliminationSlots.compareAndSet(slot, node, null)) {
+          return node;
+        }
+        Thread.onSpinWait();
+      }
+      return null;
+    }
+
+    /**
+     * Main method to demonstrate the stack shared between threads.
+     *
+     * @param args Command line arguments (not used).
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+      ConcurrentLLStack stack = new ConcurrentLLStack();
+      Thread[] threads = new Thread[4];
+      for (int t = 0; t < threads.length; t++) {
+        threads[t] = new Thread(() -> {
+          for (int i = 0; i < 100_000; i++) {
+            stack.push(i);
+            stack.pop();
+          }
+          stack.push(1);
+        });
+        threads[t].start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      System.out.println("Size of stack " + stack.size());
+    }
+  }
 }
@@ -0,0 +1,109 @@
+package org.example.stack.implementation;
+
+import java.util.EmptyStackException;
+import org.example.stack.implementation.ArrayImplementation.Stack;
+
+/**
+ * Stack that answers {@link #getMin()} and {@link #getMax()} in O(1), built on {@link ArrayImplementation.Stack}.
+ *
+ * <p>Next to the values it keeps two stacks holding the minimum and the maximum of everything at or below
+ * each level. Pushing records the new extremes and popping simply drops them, so no copy of the stack is ever
+ * needed to find the current minimum or maximum.
+ */
+public class MinMaxStack {
+  private final Stack values = new Stack();
+  private final Stack mins = new Stack();
+  private final Stack maxs = new Stack();
+
+  /**
+   * Pushes a value onto the stack. Amortized O(1).
+   *
+   * @param x the value to be pushed onto the stack
+   */
+  public void push(int x) {
+    if (values.isEmpty()) {
+      mins.push(x);
+      maxs.push(x);
+    } else {
+      mins.push(Math.min(x, mins.peek()));
+      maxs.push(Math.max(x, maxs.peek()));
+    }
+    values.push(x);
+  }
+
+  /**
+   * Removes the top value of the stack and returns it.
+   *
+   * @return the top value of the stack
+   * @throws EmptyStackException if the stack is empty
+   */
+  public int pop() {
+    int top = values.pop();
+    mins.pop();
+    maxs.pop();
+    return top;
+  }
+
+  /**
+   * Returns the top value of the stack without removing it.
+   *
+   * @return the top value of the stack
+   * @throws EmptyStackException if the stack is empty
+   */
+  public int peek() {
+    return values.peek();
+  }
+
+  /**
+   * Returns the smallest value in the stack. O(1).
+   *
+   * @return the smallest value
+   * @throws EmptyStackException if the stack is empty
+   */
+  public int getMin() {
+    return mins.peek();
+  }
+
+  /**
+   * Returns the largest value in the stack. O(1).
+   *
+   * @return the largest value
+   * @throws EmptyStackException if the stack is empty
+   */
+  public int getMax() {
+    return maxs.peek();
+  }
+
+  /**
+   * Returns the current size of the stack.
+   *
+   * @return the number of values in the stack
+   */
+  public int size() {
+    return values.size();
+  }
+
+  /**
+   * Checks if the stack is empty.
+   *
+   * @return {@code true} if the stack is empty, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return values.isEmpty();
+  }
+
+  /**
+   * Main method to demonstrate the stack.
+   *
+   * @param args command line arguments
+   */
+  public static void main(String[] args) {
+    MinMaxStack st = new MinMaxStack();
+    st.push(50);
+    st.push(10);
+    st.push(90);
+    System.out.println("Min: " + st.getMin() + ", Max: " + st.getMax());
+    st.pop();
+    System.out.println("After pop, Min: " + st.getMin() + ", Max: " + st.getMax());
+  }
+}
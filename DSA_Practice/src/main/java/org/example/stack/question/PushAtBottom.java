@@ -32,6 +32,8 @@ public class PushAtBottom {
 
 
   //TODO push an number at bottom of stack using recursion
+  //Recursion uses one frame per element, so this overflows for large stacks;
+  //StackOperations.pushAtBottom does the same without recursion
   public static void pushAtBottom(Stack<Integer> stack, int x){
     if(stack.isEmpty()){
       stack.push(x);
@@ -34,5 +34,6 @@ public class ReverseStack {
   }
 
   // TODO Reverse your stack using recursion
+  // StackOperations.reverse reverses in place without the temporary stacks used above
 
 }